@@ -0,0 +1,174 @@
+import java.util.Arrays;
+
+/**
+ * A "hard" game of Wordle in which the secret is not chosen up front. The game
+ * keeps the set of words that are still consistent with every answer it gave;
+ * after each guess it partitions that set by feedback pattern and answers with
+ * the pattern of the largest part, so the player is always facing as many
+ * possible secrets as the rules allow. The secret only becomes a single word
+ * when one is left (or is picked from those left when the player runs out of
+ * attempts).
+ * <p>
+ * The candidates are a bitset over the dictionary. Counting the parts reads
+ * the patterns of the guess from a PatternTable when there is one (a
+ * FeedbackMatrix or a LazyFeedbackTable shared by every game), or computes
+ * them from the packed words otherwise; keeping the chosen part is a few
+ * CandidateIndex AND passes, so partitioning allocates nothing.
+ * <p>
+ * The dictionary, index and table are only read, so any number of games can
+ * share them; one game is used by one thread at a time.
+ */
+public final class AdversarialGame {
+
+    public static final int WORD_LENGTH = GameEngine.WORD_LENGTH;
+    public static final int MAX_ATTEMPTS = GameEngine.MAX_ATTEMPTS;
+
+    private final PackedDictionary dict;
+    private final CandidateIndex index;
+    private final PatternTable table;
+
+    private final long[] candidates;
+    private final int[] counts = new int[EntropySolver.PATTERNS];
+    private final char[][] guesses = new char[MAX_ATTEMPTS][WORD_LENGTH];
+    private final char[][] results = new char[MAX_ATTEMPTS][WORD_LENGTH];
+    private int attempt;
+    private boolean won;
+    private String secret;
+
+    // A game over dict that computes patterns itself (with its own index).
+    public AdversarialGame(PackedDictionary dict) {
+        this(dict, new CandidateIndex(dict), null);
+    }
+
+    // A game over dict that shares index and table (dict against itself, or
+    // null to compute patterns) with other games.
+    public AdversarialGame(PackedDictionary dict, CandidateIndex index, PatternTable table) {
+        if (index.size() != dict.size()) throw new IllegalArgumentException("index does not match the dictionary");
+        if (table != null && (table.guessCount() != dict.size() || table.secretCount() != dict.size())) {
+            throw new IllegalArgumentException("table does not match the dictionary");
+        }
+        this.dict = dict;
+        this.index = index;
+        this.table = table;
+        this.candidates = index.all();
+        startGame();
+    }
+
+    // Starts a new game: every word of the dictionary is a possible secret again.
+    public void startGame() {
+        index.fill(candidates);
+        attempt = 0;
+        won = false;
+        secret = null;
+        for (int row = 0; row < MAX_ATTEMPTS; row++) {
+            Arrays.fill(guesses[row], '\0');
+            Arrays.fill(results[row], '\0');
+        }
+    }
+
+    // Plays a guess and returns its feedback row (G / Y / _ per letter): the
+    // pattern shared by the most candidates.
+    // Throws IllegalArgumentException if the guess is not 5 letters A-Z, and
+    // IllegalStateException if the game is over.
+    public char[] submitGuess(String guess) {
+        if (isOver()) throw new IllegalStateException("game is over");
+        int packed = guess == null ? -1 : PackedDictionary.tryPack(guess);
+        if (packed < 0) throw new IllegalArgumentException("guess must have " + WORD_LENGTH + " letters A-Z");
+
+        int pattern = largestPart(packed, table == null ? -1 : dict.indexOf(packed));
+        index.apply(candidates, packed, pattern, false);
+
+        Wordle.storeGuess(PackedDictionary.unpack(packed), guesses, attempt);
+        Wordle.patternToRow(pattern, results[attempt]);
+        won = pattern == Wordle.ALL_GREEN;
+        attempt++;
+        if (won) secret = PackedDictionary.unpack(packed);
+        else if (attempt == MAX_ATTEMPTS) secret = dict.wordAt(firstCandidate());
+        return results[attempt - 1].clone();
+    }
+
+    // True once the secret was guessed or all attempts are used.
+    public boolean isOver() {
+        return won || attempt == MAX_ATTEMPTS;
+    }
+
+    public boolean isWon() {
+        return won;
+    }
+
+    // Number of guesses played in the current game.
+    public int attempts() {
+        return attempt;
+    }
+
+    // Number of words that could still be the secret.
+    public int candidates() {
+        return CandidateIndex.cardinality(candidates);
+    }
+
+    // Writes the indexes of the words that could still be the secret to out,
+    // in increasing order, and returns how many there are.
+    public int candidates(int[] out) {
+        return CandidateIndex.toIndexes(candidates, out);
+    }
+
+    // The secret word, or null while the game is still running.
+    public String secret() {
+        return secret;
+    }
+
+    // Prints the board the same way Wordle.printBoard does.
+    public void printBoard() {
+        if (attempt > 0) Wordle.printBoard(guesses, results, attempt - 1);
+    }
+
+    // The pattern of the largest part of the candidates for the packed guess
+    // (at guessIndex in the table, or -1 to compute the patterns). Among parts
+    // of the same size, the one that reveals less wins: fewer G, then fewer Y.
+    private int largestPart(int guess, int guessIndex) {
+        int[] counts = this.counts;
+        long[] set = candidates;
+        for (int w = 0; w < set.length; w++) {
+            long bits = set[w];
+            while (bits != 0) {
+                int s = (w << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                int pattern = guessIndex >= 0 ? table.pattern(guessIndex, s) : dict.feedback(s, guess);
+                counts[pattern]++;
+            }
+        }
+
+        int best = -1;
+        int bestCount = 0;
+        for (int p = 0; p < counts.length; p++) {
+            int count = counts[p];
+            if (count == 0) continue;
+            counts[p] = 0;
+            if (count > bestCount || (count == bestCount && reveals(p) < reveals(best))) {
+                best = p;
+                bestCount = count;
+            }
+        }
+        // the candidates are never empty: the secret is always one of them
+        return best;
+    }
+
+    // How much a pattern gives away: 6 per G and 1 per Y, so that any G weighs
+    // more than all Y.
+    private static int reveals(int pattern) {
+        int score = 0;
+        for (int p = 0; p < WORD_LENGTH; p++) {
+            int digit = pattern % 3;
+            pattern /= 3;
+            score += digit == 2 ? 6 : digit;
+        }
+        return score;
+    }
+
+    private int firstCandidate() {
+        for (int w = 0; w < candidates.length; w++) {
+            if (candidates[w] != 0) return (w << 6) + Long.numberOfTrailingZeros(candidates[w]);
+        }
+        return -1;
+    }
+}
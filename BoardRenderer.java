@@ -0,0 +1,134 @@
+import java.io.PrintStream;
+import java.nio.CharBuffer;
+
+/**
+ * Renders a game board into a reusable buffer and prints it with a single
+ * write. In PLAIN mode the text is exactly what Wordle.printBoard has always
+ * printed; COMPACT prints one short line per row, and ANSI prints the guessed
+ * letters on colored backgrounds instead of the result row.
+ * <p>
+ * A renderer keeps its buffers between calls, so it allocates nothing once
+ * they have grown to the size of a board. It is not thread-safe; use one per
+ * thread (Wordle.printBoard keeps one in a ThreadLocal).
+ */
+public final class BoardRenderer {
+
+    public enum Mode {
+        // "Current board:", one "Guess n: ABCDE   Result: G_Y_G" line per row, a blank line
+        PLAIN,
+        // one "ABCDE G_Y_G" line per row
+        COMPACT,
+        // like PLAIN, with every letter colored by its result and no result column
+        ANSI
+    }
+
+    private static final String GREEN = "\u001b[30;42m";
+    private static final String YELLOW = "\u001b[30;43m";
+    private static final String GRAY = "\u001b[37;100m";
+    private static final String RESET = "\u001b[0m";
+
+    private final Mode mode;
+    private final String lineSeparator = System.lineSeparator();
+    private char[] chars = new char[256];
+    private byte[] bytes = new byte[256];
+    private int length;
+
+    public BoardRenderer() {
+        this(Mode.PLAIN);
+    }
+
+    public BoardRenderer(Mode mode) {
+        this.mode = mode;
+    }
+
+    // Prints the board up to currentRow (inclusive) to out with one write.
+    public void print(char[][] guesses, char[][] results, int currentRow, PrintStream out) {
+        render(guesses, results, currentRow);
+        int wide = 0;
+        for (int i = 0; i < length; i++) wide |= chars[i];
+        if ((wide & 0xFF80) == 0) {
+            if (bytes.length < length) bytes = new byte[chars.length];
+            for (int i = 0; i < length; i++) bytes[i] = (byte) chars[i];
+            out.write(bytes, 0, length);
+        } else {
+            // letters outside ASCII have to go through the stream's own charset
+            out.append(CharBuffer.wrap(chars, 0, length));
+        }
+    }
+
+    // Returns the board up to currentRow (inclusive) as text.
+    public String text(char[][] guesses, char[][] results, int currentRow) {
+        render(guesses, results, currentRow);
+        return new String(chars, 0, length);
+    }
+
+    // Renders the board into chars[0 .. length-1].
+    private void render(char[][] guesses, char[][] results, int currentRow) {
+        length = 0;
+        if (mode != Mode.COMPACT) {
+            append("Current board:");
+            append(lineSeparator);
+        }
+        for (int row = 0; row <= currentRow; row++) {
+            if (mode == Mode.COMPACT) {
+                append(guesses[row]);
+                append(' ');
+                append(results[row]);
+            } else {
+                append("Guess ");
+                appendNumber(row + 1);
+                append(": ");
+                if (mode == Mode.ANSI) {
+                    appendColored(guesses[row], results[row]);
+                } else {
+                    append(guesses[row]);
+                    append("   Result: ");
+                    append(results[row]);
+                }
+            }
+            append(lineSeparator);
+        }
+        if (mode != Mode.COMPACT) append(lineSeparator);
+    }
+
+    private void appendColored(char[] guess, char[] result) {
+        for (int col = 0; col < guess.length; col++) {
+            char feedback = col < result.length ? result[col] : '_';
+            append(feedback == 'G' ? GREEN : (feedback == 'Y' ? YELLOW : GRAY));
+            append(' ');
+            append(guess[col]);
+            append(' ');
+        }
+        append(RESET);
+    }
+
+    private void appendNumber(int n) {
+        if (n >= 10) appendNumber(n / 10);
+        append((char) ('0' + n % 10));
+    }
+
+    private void append(String s) {
+        ensure(s.length());
+        s.getChars(0, s.length(), chars, length);
+        length += s.length();
+    }
+
+    private void append(char[] s) {
+        ensure(s.length);
+        System.arraycopy(s, 0, chars, length, s.length);
+        length += s.length;
+    }
+
+    private void append(char c) {
+        ensure(1);
+        chars[length++] = c;
+    }
+
+    private void ensure(int more) {
+        if (length + more > chars.length) {
+            char[] grown = new char[Math.max(2 * chars.length, length + more)];
+            System.arraycopy(chars, 0, grown, 0, length);
+            chars = grown;
+        }
+    }
+}
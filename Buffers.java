@@ -0,0 +1,46 @@
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+/**
+ * Releases direct and memory-mapped buffers right away instead of when the
+ * garbage collector gets to them, through sun.misc.Unsafe.invokeCleaner where
+ * the runtime has it. A buffer must not be used, by any thread, once freed.
+ */
+final class Buffers {
+
+    // sun.misc.Unsafe.invokeCleaner; null if unavailable.
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    private Buffers() { }
+
+    // Frees a direct or mapped buffer now. Heap buffers, and every buffer on
+    // a runtime without invokeCleaner, are left to the garbage collector.
+    static void free(ByteBuffer buffer) {
+        if (buffer == null || INVOKE_CLEANER == null || !buffer.isDirect()) return;
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+        }
+        catch (ReflectiveOperationException | RuntimeException e) {
+            // leave it to the garbage collector
+        }
+    }
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> type = Class.forName("sun.misc.Unsafe");
+            Field field = type.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = type.getMethod("invokeCleaner", ByteBuffer.class);
+        }
+        catch (ReflectiveOperationException | RuntimeException e) {
+            // Java 8 or a locked-down runtime: buffers are freed by the GC
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+}
@@ -0,0 +1,175 @@
+import java.util.Arrays;
+
+/**
+ * An inverted index over a packed dictionary for finding the secrets that are
+ * still consistent with the feedback of a game. For every position and letter,
+ * every letter, and every letter and count it keeps a bitset of the words
+ * (bit i = word i) that have that letter at that position, contain that
+ * letter, or contain it at least that many times. Applying a feedback row is
+ * then a few AND / AND-NOT passes over {@code long} words.
+ * <p>
+ * Two rule sets are supported. The game's own rules (Wordle.computeFeedback)
+ * give Y whenever the letter is anywhere in the secret. Duplicate-aware rules
+ * (standard Wordle) give Y only as many times as the letter is still
+ * unmatched in the secret, and _ for the rest; letter counts matter there.
+ * <p>
+ * The index is read-only after construction and can be shared between threads.
+ */
+public final class CandidateIndex {
+
+    private static final int LETTERS = 26;
+    private static final int WORD_LENGTH = PackedDictionary.WORD_LENGTH;
+
+    private final int size;
+    private final int words;
+
+    // [position * 26 + letter]
+    private final long[][] atPosition;
+    // [letter]
+    private final long[][] contains;
+    // [letter * 5 + count - 1]: the letter appears at least count times
+    private final long[][] atLeast;
+
+    public CandidateIndex(PackedDictionary dict) {
+        size = dict.size();
+        words = (size + 63) >>> 6;
+        atPosition = new long[WORD_LENGTH * LETTERS][words];
+        contains = new long[LETTERS][];
+        atLeast = new long[LETTERS * WORD_LENGTH][words];
+
+        int[] counts = new int[LETTERS];
+        for (int w = 0; w < size; w++) {
+            int word = dict.word(w);
+            long bit = 1L << w;
+            for (int p = 0; p < WORD_LENGTH; p++) {
+                int letter = PackedDictionary.letterAt(word, p);
+                atPosition[p * LETTERS + letter][w >>> 6] |= bit;
+                int count = ++counts[letter];
+                atLeast[letter * WORD_LENGTH + count - 1][w >>> 6] |= bit;
+            }
+            for (int p = 0; p < WORD_LENGTH; p++) {
+                counts[PackedDictionary.letterAt(word, p)] = 0;
+            }
+        }
+        for (int letter = 0; letter < LETTERS; letter++) {
+            contains[letter] = atLeast[letter * WORD_LENGTH];
+        }
+    }
+
+    // Number of words in the dictionary.
+    public int size() {
+        return size;
+    }
+
+    // A new set holding every word of the dictionary.
+    public long[] all() {
+        long[] set = new long[words];
+        fill(set);
+        return set;
+    }
+
+    // Resets set to every word of the dictionary.
+    public void fill(long[] set) {
+        Arrays.fill(set, -1L);
+        if ((size & 63) != 0) set[words - 1] = (1L << size) - 1;
+    }
+
+    // Removes from set the words that would not give pattern (see
+    // Wordle.ALL_GREEN) for the packed guess.
+    public void apply(long[] set, int guess, int pattern, boolean duplicateAware) {
+        if (duplicateAware) {
+            applyDuplicateAware(set, guess, pattern);
+            return;
+        }
+        for (int p = 0; p < WORD_LENGTH; p++) {
+            int letter = PackedDictionary.letterAt(guess, p);
+            int digit = pattern % 3;
+            pattern /= 3;
+            if (digit == 2) {
+                and(set, atPosition[p * LETTERS + letter]);
+            } else if (digit == 1) {
+                and(set, contains[letter]);
+                andNot(set, atPosition[p * LETTERS + letter]);
+            } else {
+                andNot(set, contains[letter]);
+            }
+        }
+    }
+
+    // Removes from set the words that are not consistent with the first rows
+    // of a game board (guesses and their G / Y / _ results).
+    public void apply(long[] set, char[][] guesses, char[][] results, int rows, boolean duplicateAware) {
+        for (int row = 0; row < rows; row++) {
+            apply(set, PackedDictionary.pack(new String(guesses[row])), pattern(results[row]), duplicateAware);
+        }
+    }
+
+    // The base-3 pattern of a G / Y / _ result row.
+    public static int pattern(char[] resultRow) {
+        int pattern = 0;
+        for (int i = resultRow.length - 1; i >= 0; i--) {
+            pattern = 3 * pattern + (resultRow[i] == 'G' ? 2 : (resultRow[i] == 'Y' ? 1 : 0));
+        }
+        return pattern;
+    }
+
+    // For each letter of the guess: the letter is at the G positions, not at
+    // the others, and appears exactly (if some copy got _) or at least (if
+    // none did) as many times as it got G or Y.
+    private void applyDuplicateAware(long[] set, int guess, int pattern) {
+        int digits = pattern;
+        int seen = 0;
+        for (int p = 0; p < WORD_LENGTH; p++) {
+            int letter = PackedDictionary.letterAt(guess, p);
+            int digit = digits % 3;
+            digits /= 3;
+            if (digit == 2) and(set, atPosition[p * LETTERS + letter]);
+            else            andNot(set, atPosition[p * LETTERS + letter]);
+
+            if ((seen & (1 << letter)) != 0) continue;
+            seen |= 1 << letter;
+
+            int matched = 0;
+            boolean gray = false;
+            int rest = pattern;
+            for (int q = 0; q < WORD_LENGTH; q++) {
+                int d = rest % 3;
+                rest /= 3;
+                if (PackedDictionary.letterAt(guess, q) != letter) continue;
+                if (d == 0) gray = true;
+                else        matched++;
+            }
+            if (matched > 0) and(set, atLeast[letter * WORD_LENGTH + matched - 1]);
+            if (gray && matched < WORD_LENGTH) andNot(set, atLeast[letter * WORD_LENGTH + matched]);
+        }
+    }
+
+    // Number of words in set.
+    public static int cardinality(long[] set) {
+        int count = 0;
+        for (long word : set) count += Long.bitCount(word);
+        return count;
+    }
+
+    // Writes the indexes of the words in set to out, in increasing order, and
+    // returns how many there are.
+    public static int toIndexes(long[] set, int[] out) {
+        int n = 0;
+        for (int w = 0; w < set.length; w++) {
+            long bits = set[w];
+            while (bits != 0) {
+                out[n++] = (w << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+        return n;
+    }
+
+    private static void and(long[] set, long[] other) {
+        for (int i = 0; i < set.length; i++) set[i] &= other[i];
+    }
+
+    private static void andNot(long[] set, long[] other) {
+        for (int i = 0; i < set.length; i++) set[i] &= ~other[i];
+    }
+}
@@ -0,0 +1,224 @@
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * A precomputed game plan: which word to guess for every feedback history a
+ * strategy can run into. The tree is built offline by playing the strategy
+ * against every secret and written to a binary file; at runtime the file is
+ * memory mapped and the next guess is found with a binary search of a node's
+ * few children per feedback row already played, without allocating.
+ * <p>
+ * Children are stored sparsely: most nodes have a handful of the 243 possible
+ * patterns, and every node but the root is some node's child, so a tree of n
+ * nodes has n - 1 edges in all.
+ * <p>
+ * File layout (big-endian ints): magic, node count, edge count; then one
+ * record per node, plus one closing record, made of the packed guess and the
+ * index of the node's first edge; then one record per edge made of a pattern
+ * and the child node it leads to. A node's edges run up to the next node's
+ * first edge, sorted by pattern. Node 0 is the root.
+ */
+public final class DecisionTree {
+
+    // "WDT2"
+    private static final int MAGIC = 0x57445432;
+    private static final int HEADER_INTS = 3;
+    private static final int NODE_INTS = 2;
+    private static final int EDGE_INTS = 2;
+
+    // give up on strategies that keep guessing without getting anywhere
+    private static final int MAX_DEPTH = 32;
+
+    private final IntBuffer nodes;
+    private final int nodeCount;
+    // offset of the first edge record in nodes
+    private final int edgeBase;
+
+    private DecisionTree(IntBuffer nodes, int nodeCount) {
+        this.nodes = nodes;
+        this.nodeCount = nodeCount;
+        this.edgeBase = HEADER_INTS + (nodeCount + 1) * NODE_INTS;
+    }
+
+    // Maps a tree written by build.
+    // Throws IllegalArgumentException if the file cannot be read or is not a tree.
+    public static DecisionTree load(String filename) {
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            IntBuffer ints = buffer.asIntBuffer();
+            if (ints.limit() < HEADER_INTS || ints.get(0) != MAGIC) {
+                throw new IllegalArgumentException(filename + " is not a decision tree");
+            }
+            int nodeCount = ints.get(1);
+            int edgeCount = ints.get(2);
+            if (nodeCount < 1 || edgeCount < 0
+                || ints.limit() != HEADER_INTS + (nodeCount + 1L) * NODE_INTS + (long) edgeCount * EDGE_INTS) {
+                throw new IllegalArgumentException(filename + " is truncated");
+            }
+            return new DecisionTree(ints, nodeCount);
+        }
+        catch (IOException ioe) {
+            throw new IllegalArgumentException("Could not open " + filename, ioe);
+        }
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    // Packed word to guess at a node (see PackedDictionary.pack).
+    public int guess(int node) {
+        return nodes.get(HEADER_INTS + node * NODE_INTS);
+    }
+
+    // Node reached from node when its guess gets the given pattern, or -1 if
+    // no secret gives that pattern (or the pattern is all green).
+    public int child(int node, int pattern) {
+        int low = firstEdge(node);
+        int high = firstEdge(node + 1) - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int p = nodes.get(edgeBase + mid * EDGE_INTS);
+            if (p < pattern) low = mid + 1;
+            else if (p > pattern) high = mid - 1;
+            else return nodes.get(edgeBase + mid * EDGE_INTS + 1);
+        }
+        return -1;
+    }
+
+    private int firstEdge(int node) {
+        return nodes.get(HEADER_INTS + node * NODE_INTS + 1);
+    }
+
+    // Packed word to guess after the first count feedback patterns of a game,
+    // or -1 if no secret of the dictionary is consistent with them.
+    public int nextGuess(int[] patterns, int count) {
+        int node = 0;
+        for (int i = 0; i < count && node >= 0; i++) {
+            node = child(node, patterns[i]);
+        }
+        return node < 0 ? -1 : guess(node);
+    }
+
+    // Plays strategy against every secret of the matrix and writes the
+    // resulting tree to filename. guesses must be the guess list of the matrix.
+    public static void build(PackedDictionary guesses, PatternTable matrix, Strategy strategy, String filename) {
+        int[] all = new int[matrix.secretCount()];
+        for (int i = 0; i < all.length; i++) all[i] = i;
+
+        ArrayList<int[]> tree = new ArrayList<int[]>();
+        addNode(tree, guesses, matrix, strategy, all, 0);
+
+        try {
+            write(tree, Paths.get(filename));
+        }
+        catch (IOException ioe) {
+            throw new IllegalArgumentException("Could not write " + filename, ioe);
+        }
+    }
+
+    // Adds the node for the given candidates (and, recursively, its children)
+    // and returns its index. A node is built as its packed guess followed by
+    // (pattern, child) pairs in pattern order.
+    private static int addNode(ArrayList<int[]> tree, PackedDictionary guesses, PatternTable matrix,
+                               Strategy strategy, int[] candidates, int depth) {
+        if (depth == MAX_DEPTH) {
+            throw new IllegalStateException("strategy needs more than " + MAX_DEPTH + " guesses");
+        }
+        int guess = strategy.nextGuess(candidates, candidates.length);
+        int index = tree.size();
+        tree.add(null);
+
+        int[] start = new int[EntropySolver.PATTERNS + 1];
+        for (int secret : candidates) {
+            start[matrix.pattern(guess, secret) + 1]++;
+        }
+        for (int p = 0; p < EntropySolver.PATTERNS; p++) {
+            start[p + 1] += start[p];
+        }
+        int[] parts = new int[candidates.length];
+        int[] next = Arrays.copyOf(start, EntropySolver.PATTERNS);
+        for (int secret : candidates) {
+            parts[next[matrix.pattern(guess, secret)]++] = secret;
+        }
+
+        int[] node = new int[1 + 2 * EntropySolver.PATTERNS];
+        node[0] = guesses.word(guess);
+        int length = 1;
+        for (int p = 0; p < EntropySolver.PATTERNS; p++) {
+            if (p == Wordle.ALL_GREEN || start[p] == start[p + 1]) continue;
+            int[] part = Arrays.copyOfRange(parts, start[p], start[p + 1]);
+            node[length++] = p;
+            node[length++] = addNode(tree, guesses, matrix, strategy, part, depth + 1);
+        }
+        tree.set(index, Arrays.copyOf(node, length));
+        return index;
+    }
+
+    private static void write(ArrayList<int[]> tree, Path file) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        Path tmp = Files.createTempFile(dir, "tree-", ".tmp");
+        try {
+            int edges = 0;
+            for (int[] node : tree) edges += (node.length - 1) / 2;
+            long bytes = 4L * (HEADER_INTS + (tree.size() + 1L) * NODE_INTS + (long) edges * EDGE_INTS);
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                IntBuffer ints = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes).asIntBuffer();
+                ints.put(MAGIC).put(tree.size()).put(edges);
+                int first = 0;
+                for (int[] node : tree) {
+                    ints.put(node[0]).put(first);
+                    first += (node.length - 1) / 2;
+                }
+                ints.put(-1).put(first);
+                for (int[] node : tree) {
+                    ints.put(node, 1, node.length - 1);
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    // Builds the tree of the entropy solver for a dictionary, maps it back and
+    // replays every secret through it.
+    public static void main(String[] args) {
+        String filename = args.length > 0 ? args[0] : "dictionary.txt";
+        String treeFile = args.length > 1 ? args[1] : "decision-tree.bin";
+        PackedDictionary dict = PackedDictionary.load(filename);
+        FeedbackMatrix matrix = FeedbackMatrix.build(dict);
+
+        long start = System.nanoTime();
+        build(dict, matrix, new EntropySolver(matrix, 1000), treeFile);
+        System.out.println("Built " + treeFile + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+
+        DecisionTree tree = load(treeFile);
+        int[] patterns = new int[MAX_DEPTH];
+        int worst = 0;
+        long total = 0;
+        for (int s = 0; s < dict.size(); s++) {
+            int attempts = 0;
+            while (true) {
+                int guess = tree.nextGuess(patterns, attempts);
+                int pattern = dict.feedback(s, guess);
+                patterns[attempts++] = pattern;
+                if (Wordle.isAllGreen(pattern)) break;
+            }
+            worst = Math.max(worst, attempts);
+            total += attempts;
+        }
+        System.out.println(tree.nodeCount() + " nodes; " + dict.size() + " secrets solved in at most " + worst
+                           + " guesses (mean " + (double) total / dict.size() + ")");
+    }
+}
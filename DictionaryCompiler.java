@@ -0,0 +1,186 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Compiles a text dictionary into a binary file that loads with one mapped
+ * read and no parsing: the packed words, their letter masks and letter counts,
+ * the WordValidator table and the original letters of every word (so
+ * readDictionary returns exactly the strings of the text file).
+ * <p>
+ * The compiled file is named after the text file with ".bin" appended. Its
+ * header records the size and modification time of the text it was compiled
+ * from, and a CRC32 of everything after the header. A compiled file whose text
+ * has changed since, or whose checksum does not match, is stale and is ignored,
+ * and Wordle falls back to reading the text.
+ * <p>
+ * Usage: java DictionaryCompiler [dictionary]
+ */
+public final class DictionaryCompiler {
+
+    // "WDC1"
+    private static final int MAGIC = 0x57444331;
+    private static final int VERSION = 1;
+    // magic, version, source size, source mtime, words, buckets, slots, crc
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 4 + 4 + 4 + 4;
+
+    private DictionaryCompiler() { }
+
+    /**
+     * A compiled dictionary, checked and mapped. Every accessor decodes its own
+     * section of the file into new arrays, so callers that need only the words
+     * (or only the packed dictionary) pay only for that.
+     */
+    public static final class Compiled {
+        private final ByteBuffer buffer;
+        private final int size;
+        private final int buckets;
+        private final int slots;
+
+        private Compiled(ByteBuffer buffer, int size, int buckets, int slots) {
+            this.buffer = buffer;
+            this.size = size;
+            this.buckets = buckets;
+            this.slots = slots;
+        }
+
+        // The words as they appear in the text file, in order.
+        public String[] words() {
+            byte[] letters = new byte[PackedDictionary.WORD_LENGTH * size];
+            section(HEADER_BYTES + 24 * size + 4 * buckets + 4 * slots).get(letters);
+            String[] words = new String[size];
+            for (int i = 0; i < size; i++) {
+                words[i] = new String(letters, PackedDictionary.WORD_LENGTH * i, PackedDictionary.WORD_LENGTH, StandardCharsets.ISO_8859_1);
+            }
+            return words;
+        }
+
+        public PackedDictionary dictionary() {
+            int[] packed = new int[size];
+            int[] masks = new int[size];
+            long[] counts = new long[2 * size];
+            section(HEADER_BYTES).asIntBuffer().get(packed).get(masks);
+            section(HEADER_BYTES + 8 * size).asLongBuffer().get(counts);
+            return new PackedDictionary(packed, masks, counts);
+        }
+
+        public WordValidator validator() {
+            int[] seeds = new int[buckets];
+            int[] table = new int[slots];
+            section(HEADER_BYTES + 24 * size).asIntBuffer().get(seeds).get(table);
+            return new WordValidator(seeds, table);
+        }
+
+        // An independent view of the file from offset on (safe to use from
+        // several threads at once).
+        private ByteBuffer section(int offset) {
+            ByteBuffer view = buffer.duplicate();
+            view.position(offset);
+            return view;
+        }
+    }
+
+    // Name of the compiled file for a text dictionary.
+    public static Path compiledFile(String textFile) {
+        return Paths.get(textFile + ".bin");
+    }
+
+    // Compiles textFile next to it and returns the compiled file.
+    // Throws IllegalArgumentException if the text cannot be read, contains
+    // something that is not a 5-letter word, or the output cannot be written.
+    public static Path compile(String textFile) {
+        Path out = compiledFile(textFile);
+        compile(textFile, out);
+        return out;
+    }
+
+    // Compiles textFile into out.
+    public static void compile(String textFile, Path out) {
+        Path source = Paths.get(textFile);
+        String[] words = DictionaryReader.readWords(textFile);
+        PackedDictionary dict = PackedDictionary.fromWords(words);
+        if (dict.size() != words.length) {
+            throw new IllegalArgumentException("empty word in " + textFile);
+        }
+        WordValidator validator = new WordValidator(dict);
+        int[] seeds = validator.seeds();
+        int[] table = validator.table();
+        int n = dict.size();
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + 4 * n + 4 * n + 16 * n
+                                                + 4 * seeds.length + 4 * table.length + PackedDictionary.WORD_LENGTH * n);
+        try {
+            buffer.putInt(MAGIC).putInt(VERSION);
+            buffer.putLong(Files.size(source)).putLong(Files.getLastModifiedTime(source).toMillis());
+            buffer.putInt(n).putInt(seeds.length).putInt(table.length).putInt(0);
+            for (int i = 0; i < n; i++) buffer.putInt(dict.word(i));
+            for (int i = 0; i < n; i++) buffer.putInt(dict.mask(i));
+            for (int i = 0; i < n; i++) buffer.putLong(dict.counts(i, 0)).putLong(dict.counts(i, 1));
+            for (int seed : seeds) buffer.putInt(seed);
+            for (int slot : table) buffer.putInt(slot);
+            for (String word : words) buffer.put(word.getBytes(StandardCharsets.ISO_8859_1));
+
+            CRC32 crc = new CRC32();
+            crc.update(buffer.array(), HEADER_BYTES, buffer.position() - HEADER_BYTES);
+            buffer.putInt(HEADER_BYTES - 4, (int) crc.getValue());
+            buffer.flip();
+
+            Path tmp = Files.createTempFile(out.toAbsolutePath().getParent(), "dictionary", ".tmp");
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) channel.write(buffer);
+            }
+            Files.move(tmp, out, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException ioe) {
+            throw new IllegalArgumentException("Could not write " + out, ioe);
+        }
+    }
+
+    // Returns the compiled form of textFile, or null if there is none or it
+    // is stale (see the class comment). If the text file itself is missing,
+    // a valid compiled file is used on its own.
+    public static Compiled loadIfFresh(String textFile) {
+        Path out = compiledFile(textFile);
+        if (!Files.isRegularFile(out)) return null;
+        Path source = Paths.get(textFile);
+        try (FileChannel channel = FileChannel.open(out, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) return null;
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) return null;
+            if (Files.isRegularFile(source)
+                && (buffer.getLong(8) != Files.size(source)
+                    || buffer.getLong(16) != Files.getLastModifiedTime(source).toMillis())) {
+                return null;
+            }
+            int n = buffer.getInt(24);
+            int buckets = buffer.getInt(28);
+            int slots = buffer.getInt(32);
+            long expected = HEADER_BYTES + 24L * n + 4L * buckets + 4L * slots + (long) PackedDictionary.WORD_LENGTH * n;
+            if (n < 0 || buckets < 1 || slots < 1 || size != expected) return null;
+
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate().position(HEADER_BYTES));
+            if ((int) crc.getValue() != buffer.getInt(HEADER_BYTES - 4)) return null;
+
+            return new Compiled(buffer, n, buckets, slots);
+        }
+        catch (IOException ioe) {
+            return null;
+        }
+    }
+
+    public static void main(String[] args) {
+        String textFile = args.length > 0 ? args[0] : "dictionary.txt";
+        Path out = compile(textFile);
+        System.out.println("Compiled " + textFile + " to " + out);
+    }
+}
@@ -0,0 +1,226 @@
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps a dictionary and everything derived from it (packed words, validator,
+ * secret selector, hint service) up to date with its file, for servers that
+ * run for a long time. A watcher thread notices when the file changes, builds
+ * a complete new Snapshot off the request path and publishes it with a single
+ * atomic swap; readers never wait and never see a half-built dictionary.
+ * <p>
+ * A game should take the current snapshot when it starts and keep using it
+ * until it ends, so a word list edited mid-game does not change its rules.
+ * The manager itself only refers to the newest snapshot: an old one becomes
+ * garbage, indexes and all, as soon as the last game holding it ends.
+ * <p>
+ * A file that cannot be read, or has no words, is reported and ignored: the
+ * previous snapshot stays current.
+ * <p>
+ * Secrets are drawn from the manager's seed: version v of the dictionary uses
+ * seed + v, so two managers with the same seed and the same file history
+ * choose the same secrets, and each reload starts a different stream.
+ */
+public final class DictionaryManager implements AutoCloseable {
+
+    // rows of patterns kept for hints, and the time budget of one hint: half
+    // of a 5 ms p99 target, the rest left for GC pauses and scheduling
+    private static final int HINT_ROWS = 4096;
+    static final long HINT_BUDGET_MICROS = 2500;
+    // editors save in several steps: wait this long after the last change
+    private static final long SETTLE_MILLIS = 200;
+
+    /**
+     * One immutable version of the dictionary with its derived indexes.
+     */
+    public static final class Snapshot {
+        private final long version;
+        private final String[] words;
+        private final PackedDictionary packed;
+        private final WordValidator validator;
+        private final SecretSelector secrets;
+        private final HintService hints;
+
+        private Snapshot(long version, String[] words, long seed) {
+            if (words.length == 0) throw new IllegalArgumentException("the dictionary has no words");
+            this.version = version;
+            this.words = words;
+            this.packed = PackedDictionary.fromWords(words);
+            this.validator = new WordValidator(packed);
+            this.secrets = new SecretSelector(words, seed + version);
+            this.hints = new HintService(packed, new LazyFeedbackTable(packed, packed, HINT_ROWS), HINT_BUDGET_MICROS);
+        }
+
+        // 1 for the dictionary read at startup, then one more per reload.
+        public long version() {
+            return version;
+        }
+
+        public int size() {
+            return words.length;
+        }
+
+        // The word at index i, as it appears in the file.
+        public String word(int i) {
+            return words[i];
+        }
+
+        public PackedDictionary packed() {
+            return packed;
+        }
+
+        public WordValidator validator() {
+            return validator;
+        }
+
+        public SecretSelector secrets() {
+            return secrets;
+        }
+
+        public HintService hints() {
+            return hints;
+        }
+    }
+
+    private final Path file;
+    private final long seed;
+    private final AtomicReference<Snapshot> current = new AtomicReference<Snapshot>();
+    private final LongAdder reloads = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private WatchService watcher;
+    private Thread thread;
+
+    // Manages the dictionary in file, read once now, drawing secrets from
+    // seed (see above). Call watch() to follow later changes.
+    // Throws IllegalArgumentException if the file cannot be read or has no words.
+    public DictionaryManager(Path file, long seed) {
+        this.file = file.toAbsolutePath();
+        this.seed = seed;
+        current.set(new Snapshot(1, Wordle.readDictionary(this.file.toString()), seed));
+    }
+
+    // A manager of a fixed word list that is never reloaded.
+    public DictionaryManager(String[] words, long seed) {
+        this.file = null;
+        this.seed = seed;
+        current.set(new Snapshot(1, words.clone(), seed));
+    }
+
+    // The newest snapshot.
+    public Snapshot current() {
+        return current.get();
+    }
+
+    // Reads the file again and publishes the result. Returns the snapshot that
+    // is current afterwards: the new one, or the previous one if the file
+    // could not be used (see failures).
+    public synchronized Snapshot reload() {
+        Snapshot previous = current.get();
+        if (file == null) return previous;
+        try {
+            Snapshot next = new Snapshot(previous.version() + 1, Wordle.readDictionary(file.toString()), seed);
+            current.set(next);
+            reloads.increment();
+            return next;
+        }
+        catch (RuntimeException e) {
+            // a bad file, or one caught mid-save; the next change retries
+            failures.increment();
+            System.err.println("Keeping dictionary version " + previous.version() + ": could not reload " + file + ": " + e);
+            return previous;
+        }
+    }
+
+    // Starts a daemon thread that reloads the dictionary whenever its file is
+    // created, modified or replaced. Calling watch again does nothing.
+    // Throws IllegalArgumentException if the directory cannot be watched.
+    public synchronized void watch() {
+        if (file == null || thread != null) return;
+        try {
+            watcher = FileSystems.getDefault().newWatchService();
+            file.getParent().register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        }
+        catch (IOException ioe) {
+            throw new IllegalArgumentException("Could not watch " + file, ioe);
+        }
+        thread = new Thread(this::watchLoop, "dictionary-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // Number of successful reloads.
+    public long reloads() {
+        return reloads.sum();
+    }
+
+    // Number of reloads that kept the previous snapshot because the file
+    // could not be used.
+    public long failures() {
+        return failures.sum();
+    }
+
+    // Stops watching the file. The current snapshot stays usable.
+    @Override
+    public void close() throws IOException {
+        WatchService w;
+        synchronized (this) {
+            w = watcher;
+            watcher = null;
+        }
+        if (w != null) w.close();
+    }
+
+    // Waits for changes to the file, lets them settle, then reloads once.
+    // Only closing the watch service (or interrupting the thread) stops it:
+    // anything a reload throws is counted as a failure and the loop goes on.
+    private void watchLoop() {
+        WatchService w;
+        synchronized (this) {
+            w = watcher;
+        }
+        try {
+            while (true) {
+                WatchKey key = w.take();
+                boolean changed = touchesFile(key);
+                // collect the rest of the burst before reading the file
+                while (true) {
+                    key.reset();
+                    key = w.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+                    if (key == null) break;
+                    changed |= touchesFile(key);
+                }
+                if (!changed) continue;
+                try {
+                    reload();
+                }
+                catch (RuntimeException | Error e) {
+                    failures.increment();
+                    System.err.println("Keeping dictionary version " + current().version() + ": could not reload " + file + ": " + e);
+                }
+            }
+        }
+        catch (InterruptedException | ClosedWatchServiceException e) {
+            // closed: stop watching
+        }
+    }
+
+    private boolean touchesFile(WatchKey key) {
+        boolean touches = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            Object context = event.context();
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                || (context instanceof Path && file.getFileName().equals(context))) {
+                touches = true;
+            }
+        }
+        return touches;
+    }
+}
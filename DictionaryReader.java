@@ -0,0 +1,166 @@
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads whitespace-separated words from a local file without Scanner, regular
+ * expressions or a copy of the whole text. The file is memory mapped and its
+ * bytes are scanned directly; only the words themselves are copied out.
+ * <p>
+ * Words are separated by the same characters as {@code split("\\s+")}: space,
+ * tab, newline, vertical tab, form feed and carriage return. Empty words are
+ * never returned. Text is decoded as UTF-8, like In does.
+ */
+public final class DictionaryReader {
+
+    // files larger than this are mapped one window at a time
+    private static final long WINDOW = 1L << 28;
+
+    private DictionaryReader() { }
+
+    // Called for every word found by scan, with the bytes of the word in
+    // word[0 .. length-1] (the array is reused for the next word).
+    private interface WordSink {
+        void word(byte[] word, int length);
+    }
+
+    // Returns all words of the file, in order.
+    // Throws IllegalArgumentException if the file cannot be read, or changes
+    // while it is read.
+    public static String[] readWords(String filename) {
+        Path file = Paths.get(filename);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer[] windows = map(channel);
+            String[] words = new String[countWords(windows)];
+            int[] n = new int[1];
+            scan(windows, (word, length) -> {
+                if (n[0] == words.length) throw changed(file);
+                words[n[0]++] = new String(word, 0, length, StandardCharsets.UTF_8);
+            });
+            if (n[0] != words.length) throw changed(file);
+            return words;
+        }
+        catch (IOException ioe) {
+            throw new IllegalArgumentException("Could not open " + file, ioe);
+        }
+        catch (InternalError e) {
+            // a mapped page past the end of a file truncated under us
+            throw changed(file);
+        }
+    }
+
+    // Returns all words of the file packed (see PackedDictionary.pack).
+    // Throws IllegalArgumentException if the file cannot be read, changes
+    // while it is read, or contains something that is not a 5-letter word.
+    public static PackedDictionary readPacked(String filename) {
+        Path file = Paths.get(filename);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer[] windows = map(channel);
+            int[] packed = new int[countWords(windows)];
+            int[] n = new int[1];
+            scan(windows, (word, length) -> {
+                if (n[0] == packed.length) throw changed(file);
+                packed[n[0]++] = pack(word, length);
+            });
+            if (n[0] != packed.length) throw changed(file);
+            return new PackedDictionary(packed);
+        }
+        catch (IOException ioe) {
+            throw new IllegalArgumentException("Could not open " + file, ioe);
+        }
+        catch (InternalError e) {
+            throw changed(file);
+        }
+    }
+
+    // Number of words in the file.
+    // Throws IllegalArgumentException if the file cannot be read.
+    public static int countWords(String filename) {
+        Path file = Paths.get(filename);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return countWords(map(channel));
+        }
+        catch (IOException ioe) {
+            throw new IllegalArgumentException("Could not open " + file, ioe);
+        }
+        catch (InternalError e) {
+            throw changed(file);
+        }
+    }
+
+    // Maps the whole file, one window per WINDOW bytes, at the size it has
+    // now. Both passes of a read use these same windows, so a file that grows
+    // or shrinks between them cannot be counted at one size and read at
+    // another; an edit in place is caught by comparing the two passes.
+    private static MappedByteBuffer[] map(FileChannel channel) throws IOException {
+        long size = channel.size();
+        MappedByteBuffer[] windows = new MappedByteBuffer[(int) ((size + WINDOW - 1) / WINDOW)];
+        for (int w = 0; w < windows.length; w++) {
+            long offset = w * WINDOW;
+            windows[w] = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(WINDOW, size - offset));
+        }
+        return windows;
+    }
+
+    private static int countWords(MappedByteBuffer[] windows) {
+        int count = 0;
+        boolean inWord = false;
+        for (MappedByteBuffer buffer : windows) {
+            int limit = buffer.limit();
+            for (int i = 0; i < limit; i++) {
+                boolean space = isSpace(buffer.get(i));
+                if (!space && !inWord) count++;
+                inWord = !space;
+            }
+        }
+        return count;
+    }
+
+    private static void scan(MappedByteBuffer[] windows, WordSink sink) {
+        byte[] word = new byte[16];
+        int length = 0;
+        for (MappedByteBuffer buffer : windows) {
+            int limit = buffer.limit();
+            for (int i = 0; i < limit; i++) {
+                byte b = buffer.get(i);
+                if (isSpace(b)) {
+                    if (length > 0) sink.word(word, length);
+                    length = 0;
+                } else {
+                    if (length == word.length) word = Arrays.copyOf(word, 2 * length);
+                    word[length++] = b;
+                }
+            }
+        }
+        if (length > 0) sink.word(word, length);
+    }
+
+    private static IllegalArgumentException changed(Path file) {
+        return new IllegalArgumentException(file + " changed while it was read");
+    }
+
+    private static int pack(byte[] word, int length) {
+        int packed = 0;
+        boolean valid = length == PackedDictionary.WORD_LENGTH;
+        for (int i = 0; valid && i < length; i++) {
+            int letter = PackedDictionary.letterIndex((char) word[i]);
+            valid = letter >= 0;
+            packed |= letter << (PackedDictionary.LETTER_BITS * i);
+        }
+        if (!valid) {
+            String text = new String(word, 0, length, StandardCharsets.UTF_8);
+            throw new IllegalArgumentException("not a " + PackedDictionary.WORD_LENGTH + "-letter word: \"" + text + "\"");
+        }
+        return packed;
+    }
+
+    // The characters matched by \s in a regular expression.
+    private static boolean isSpace(byte b) {
+        return b == ' ' || (b >= '\t' && b <= '\r');
+    }
+}
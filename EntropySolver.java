@@ -0,0 +1,186 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Picks the guess that is expected to reveal the most information: the one whose
+ * feedback patterns split the remaining candidates into the partition with the
+ * highest Shannon entropy. Ties go to guesses that could still be the secret.
+ * <p>
+ * Guesses are scored in parallel on a ForkJoin pool. Every call has a time
+ * budget; once it runs out, the best guess scored so far is returned.
+ */
+public final class EntropySolver implements Strategy {
+
+    // number of possible feedback patterns (3^5)
+    static final int PATTERNS = Wordle.ALL_GREEN + 1;
+
+    // guesses scored by one task before it stops splitting
+    private static final int LEAF_GUESSES = 64;
+    // the weight of a single board
+    private static final int[] ONE = {1};
+
+    private final PatternTable matrix;
+    private final ForkJoinPool pool;
+    private final long budgetNanos;
+
+    // Scores on the common pool, with the given budget per call in milliseconds.
+    public EntropySolver(PatternTable matrix, long budgetMillis) {
+        this(matrix, ForkJoinPool.commonPool(), budgetMillis);
+    }
+
+    public EntropySolver(PatternTable matrix, ForkJoinPool pool, long budgetMillis) {
+        if (budgetMillis <= 0) throw new IllegalArgumentException("time budget must be positive");
+        this.matrix = matrix;
+        this.pool = pool;
+        this.budgetNanos = budgetMillis * 1_000_000L;
+    }
+
+    @Override
+    public int nextGuess(int[] candidates, int count) {
+        if (count == 1) return winningGuess(candidates[0]);
+        long deadline = System.nanoTime() + budgetNanos;
+        return bestGuess(matrix, pool, new int[][] {candidates}, new int[] {count}, ONE, deadline, null);
+    }
+
+    // Fills scores[g] with the entropy (in bits) of guess g against the candidates.
+    // Guesses that were not reached before the budget ran out are set to NaN.
+    public void scores(int[] candidates, int count, double[] scores) {
+        Arrays.fill(scores, Double.NaN);
+        long deadline = System.nanoTime() + budgetNanos;
+        bestGuess(matrix, pool, new int[][] {candidates}, new int[] {count}, ONE, deadline, scores);
+    }
+
+    // The guess with the highest weighted sum of entropies over several sets
+    // of candidates (the boards of a multi-board game): the first counts[b]
+    // entries of boards[b], weighted by weights[b]. Ties go to the guess that
+    // could be the secret on the most weight. Scoring stops at the deadline;
+    // if scores is not null, scores[g] gets the sum for every guess reached.
+    static int bestGuess(PatternTable table, ForkJoinPool pool, int[][] boards, int[] counts, int[] weights,
+                         long deadline, double[] scores) {
+        return pool.invoke(new ScoreTask(table, boards, counts, weights, 0, table.guessCount(), deadline, scores)).guess;
+    }
+
+    // Entropy of a partition of total items given the size of every part;
+    // clears counts on the way.
+    static double entropy(int[] counts, int total) {
+        double sum = 0;
+        for (int p = 0; p < counts.length; p++) {
+            int c = counts[p];
+            if (c != 0) {
+                sum += c * Math.log(c);
+                counts[p] = 0;
+            }
+        }
+        return (Math.log(total) - sum / total) / Math.log(2);
+    }
+
+    // The guess that wins against the given secret, or 0 if the secret is not
+    // among the allowed guesses.
+    private int winningGuess(int secret) {
+        for (int g = 0; g < matrix.guessCount(); g++) {
+            if (matrix.pattern(g, secret) == Wordle.ALL_GREEN) return g;
+        }
+        return 0;
+    }
+
+    // Best guess of a range, as returned by ScoreTask.
+    private static final class Best {
+        final int guess;
+        final double entropy;
+        // weight of the boards on which the guess could be the secret
+        final int solves;
+
+        Best(int guess, double entropy, int solves) {
+            this.guess = guess;
+            this.entropy = entropy;
+            this.solves = solves;
+        }
+
+        boolean beats(Best other) {
+            if (other.guess < 0) return guess >= 0;
+            if (entropy != other.entropy) return entropy > other.entropy;
+            return solves > other.solves;
+        }
+    }
+
+    // Scores the guesses from..to-1 against every board and returns the best one.
+    private static final class ScoreTask extends RecursiveTask<Best> {
+        private static final long serialVersionUID = 1L;
+
+        private final PatternTable table;
+        private final int[][] boards;
+        private final int[] counts;
+        private final int[] weights;
+        private final int from;
+        private final int to;
+        private final long deadline;
+        private final double[] scores;
+
+        ScoreTask(PatternTable table, int[][] boards, int[] counts, int[] weights, int from, int to,
+                  long deadline, double[] scores) {
+            this.table = table;
+            this.boards = boards;
+            this.counts = counts;
+            this.weights = weights;
+            this.from = from;
+            this.to = to;
+            this.deadline = deadline;
+            this.scores = scores;
+        }
+
+        @Override
+        protected Best compute() {
+            if (to - from > LEAF_GUESSES) {
+                int mid = (from + to) >>> 1;
+                ScoreTask right = new ScoreTask(table, boards, counts, weights, mid, to, deadline, scores);
+                right.fork();
+                Best left = new ScoreTask(table, boards, counts, weights, from, mid, deadline, scores).compute();
+                Best other = right.join();
+                return other.beats(left) ? other : left;
+            }
+
+            int bestGuess = -1;
+            double bestEntropy = Double.NEGATIVE_INFINITY;
+            int bestSolves = 0;
+            int[] parts = new int[PATTERNS];
+            for (int g = from; g < to; g++) {
+                if (bestGuess >= 0 && System.nanoTime() - deadline > 0) break;
+                double entropy = 0;
+                int solves = 0;
+                for (int b = 0; b < boards.length; b++) {
+                    int[] candidates = boards[b];
+                    int count = counts[b];
+                    for (int i = 0; i < count; i++) parts[table.pattern(g, candidates[i])]++;
+                    if (parts[Wordle.ALL_GREEN] > 0) solves += weights[b];
+                    entropy += weights[b] * entropy(parts, count);
+                }
+                if (scores != null) scores[g] = entropy;
+                if (entropy > bestEntropy || (entropy == bestEntropy && solves > bestSolves)) {
+                    bestGuess = g;
+                    bestEntropy = entropy;
+                    bestSolves = solves;
+                }
+            }
+            return new Best(bestGuess, bestEntropy, bestSolves);
+        }
+    }
+
+    // Prints the best opening guess for a dictionary and how long it took.
+    public static void main(String[] args) {
+        String filename = args.length > 0 ? args[0] : "dictionary.txt";
+        PackedDictionary dict = PackedDictionary.load(filename);
+        FeedbackMatrix matrix = FeedbackMatrix.build(dict);
+        EntropySolver solver = new EntropySolver(matrix, 50);
+
+        int[] candidates = new int[dict.size()];
+        for (int i = 0; i < candidates.length; i++) candidates[i] = i;
+
+        for (int run = 0; run < 5; run++) {
+            long start = System.nanoTime();
+            int guess = solver.nextGuess(candidates, candidates.length);
+            long elapsed = System.nanoTime() - start;
+            System.out.println("Best opening guess: " + dict.wordAt(guess) + " (" + (elapsed / 1000) + " us)");
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/**
+ * Computes the feedback pattern of one guess against many secrets at once.
+ * The secrets are laid out as structure-of-arrays: one byte column per letter
+ * position plus the column of letter masks, so the loop over secrets reads
+ * six dense arrays front to back and has no branches. That is the shape the
+ * JIT's superword pass turns into SIMD code, comparing a whole vector of
+ * secrets per instruction.
+ * <p>
+ * Patterns follow the game's rules and encoding (see Wordle.computeFeedback
+ * for packed words). patternsScalar computes the same results one secret at a
+ * time through Wordle.computeFeedback and serves as the reference.
+ * <p>
+ * A batch is read-only after construction and can be shared between threads.
+ */
+public final class FeedbackBatch {
+
+    private static final int WORD_LENGTH = PackedDictionary.WORD_LENGTH;
+
+    private final int size;
+    private final int[] words;
+    // [position][secret]: letter 0..25
+    private final byte[][] letters;
+    private final int[] masks;
+
+    // Lays out the packed secrets. The array is not copied.
+    public FeedbackBatch(int[] secrets) {
+        size = secrets.length;
+        words = secrets;
+        letters = new byte[WORD_LENGTH][size];
+        masks = new int[size];
+        for (int s = 0; s < size; s++) {
+            for (int p = 0; p < WORD_LENGTH; p++) {
+                letters[p][s] = (byte) PackedDictionary.letterAt(secrets[s], p);
+            }
+            masks[s] = PackedDictionary.letterMask(secrets[s]);
+        }
+    }
+
+    // Lays out every word of dict.
+    public FeedbackBatch(PackedDictionary dict) {
+        this(words(dict));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Writes the pattern of the packed guess against secret s to out[s].
+    public void patterns(int guess, int[] out) {
+        byte[] c0 = letters[0], c1 = letters[1], c2 = letters[2], c3 = letters[3], c4 = letters[4];
+        int l0 = PackedDictionary.letterAt(guess, 0);
+        int l1 = PackedDictionary.letterAt(guess, 1);
+        int l2 = PackedDictionary.letterAt(guess, 2);
+        int l3 = PackedDictionary.letterAt(guess, 3);
+        int l4 = PackedDictionary.letterAt(guess, 4);
+        for (int s = 0; s < size; s++) {
+            int m = masks[s];
+            out[s] = digit(m, c0[s], l0)
+                   + 3 * digit(m, c1[s], l1)
+                   + 9 * digit(m, c2[s], l2)
+                   + 27 * digit(m, c3[s], l3)
+                   + 81 * digit(m, c4[s], l4);
+        }
+    }
+
+    // Same as above, into out[offset .. offset+size-1] as bytes (the layout of
+    // a FeedbackMatrix row).
+    public void patterns(int guess, byte[] out, int offset) {
+        byte[] c0 = letters[0], c1 = letters[1], c2 = letters[2], c3 = letters[3], c4 = letters[4];
+        int l0 = PackedDictionary.letterAt(guess, 0);
+        int l1 = PackedDictionary.letterAt(guess, 1);
+        int l2 = PackedDictionary.letterAt(guess, 2);
+        int l3 = PackedDictionary.letterAt(guess, 3);
+        int l4 = PackedDictionary.letterAt(guess, 4);
+        for (int s = 0; s < size; s++) {
+            int m = masks[s];
+            out[offset + s] = (byte) (digit(m, c0[s], l0)
+                                    + 3 * digit(m, c1[s], l1)
+                                    + 9 * digit(m, c2[s], l2)
+                                    + 27 * digit(m, c3[s], l3)
+                                    + 81 * digit(m, c4[s], l4));
+        }
+    }
+
+    // Reference implementation of patterns(guess, out): one
+    // Wordle.computeFeedback call per secret.
+    public void patternsScalar(int guess, int[] out) {
+        for (int s = 0; s < size; s++) {
+            out[s] = Wordle.computeFeedback(words[s], masks[s], guess);
+        }
+    }
+
+    // Base-3 digit of one position without branches: 1 if the secret contains
+    // the guessed letter, plus 1 if it is at this very position (a letter at
+    // its position is always also contained, so G = 2, Y = 1, _ = 0).
+    private static int digit(int secretMask, int secretLetter, int guessLetter) {
+        return ((secretMask >>> guessLetter) & 1) + (((secretLetter ^ guessLetter) - 1) >>> 31);
+    }
+
+    private static int[] words(PackedDictionary dict) {
+        int[] words = new int[dict.size()];
+        for (int i = 0; i < words.length; i++) words[i] = dict.word(i);
+        return words;
+    }
+}
@@ -0,0 +1,169 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.IntStream;
+
+/**
+ * The feedback pattern of every (guess, secret) pair of two packed dictionaries,
+ * computed once and stored as one byte per pair (see Wordle.ALL_GREEN for the
+ * base-3 encoding). Rows are guesses, so all patterns of one guess are adjacent.
+ * <p>
+ * The matrix can be cached in a file named after the hashes of both dictionaries;
+ * later runs map that file instead of recomputing the patterns.
+ */
+public final class FeedbackMatrix implements PatternTable {
+
+    // "WFM1"; the file layout is shared with OffHeapFeedbackMatrix
+    static final int MAGIC = 0x57464D31;
+    static final int HEADER_BYTES = 4 + 4 + 4 + 8 + 8;
+
+    private final int guessCount;
+    private final int secretCount;
+    private final byte[] patterns;
+
+    private FeedbackMatrix(int guessCount, int secretCount, byte[] patterns) {
+        this.guessCount = guessCount;
+        this.secretCount = secretCount;
+        this.patterns = patterns;
+    }
+
+    // Computes the patterns of every guess against every secret, one row (one
+    // FeedbackBatch pass) per task, spread over the common ForkJoin pool.
+    public static FeedbackMatrix build(PackedDictionary guesses, PackedDictionary secrets) {
+        int rows = guesses.size();
+        int cols = secrets.size();
+        long cells = (long) rows * cols;
+        if (cells > Integer.MAX_VALUE - HEADER_BYTES) {
+            throw new IllegalArgumentException("matrix of " + rows + " x " + cols + " patterns is too large");
+        }
+        byte[] patterns = new byte[(int) cells];
+        FeedbackBatch batch = new FeedbackBatch(secrets);
+        IntStream.range(0, rows).parallel().forEach(g -> batch.patterns(guesses.word(g), patterns, g * cols));
+        return new FeedbackMatrix(rows, cols, patterns);
+    }
+
+    // Same as build(dict, dict).
+    public static FeedbackMatrix build(PackedDictionary dict) {
+        return build(dict, dict);
+    }
+
+    // Loads the matrix of the two dictionaries from cacheDir, or builds it and
+    // stores it there when no valid cache file exists. Failing to write the
+    // cache is not an error; the built matrix is returned anyway.
+    public static FeedbackMatrix load(PackedDictionary guesses, PackedDictionary secrets, String cacheDir) {
+        Path file = cacheFile(guesses, secrets, cacheDir);
+        FeedbackMatrix cached = read(file, guesses, secrets);
+        if (cached != null) return cached;
+
+        FeedbackMatrix matrix = build(guesses, secrets);
+        try {
+            matrix.write(file, guesses.hash(), secrets.hash());
+        }
+        catch (IOException ioe) {
+            // keep the in-memory matrix; the next run will try again
+        }
+        return matrix;
+    }
+
+    // Same as load(dict, dict, cacheDir).
+    public static FeedbackMatrix load(PackedDictionary dict, String cacheDir) {
+        return load(dict, dict, cacheDir);
+    }
+
+    // Name of the cache file for the two dictionaries.
+    public static Path cacheFile(PackedDictionary guesses, PackedDictionary secrets, String cacheDir) {
+        long key = guesses.hash() * 31 + secrets.hash();
+        return Paths.get(cacheDir, "feedback-" + Long.toHexString(key) + ".bin");
+    }
+
+    @Override
+    public int guessCount() {
+        return guessCount;
+    }
+
+    @Override
+    public int secretCount() {
+        return secretCount;
+    }
+
+    @Override
+    public int pattern(int guess, int secret) {
+        return patterns[guess * secretCount + secret] & 0xFF;
+    }
+
+    @Override
+    public int filter(int guess, int pattern, int[] candidates, int count) {
+        int base = guess * secretCount;
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            int secret = candidates[i];
+            if ((patterns[base + secret] & 0xFF) == pattern) {
+                candidates[kept++] = secret;
+            }
+        }
+        return kept;
+    }
+
+    // Returns the cached matrix in file, or null if it is missing or does not
+    // belong to these dictionaries.
+    private static FeedbackMatrix read(Path file, PackedDictionary guesses, PackedDictionary secrets) {
+        if (!Files.isRegularFile(file)) return null;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES) return null;
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt() != MAGIC) return null;
+            int rows = buffer.getInt();
+            int cols = buffer.getInt();
+            if (rows != guesses.size() || cols != secrets.size()) return null;
+            if (buffer.getLong() != guesses.hash() || buffer.getLong() != secrets.hash()) return null;
+            if (size != HEADER_BYTES + (long) rows * cols) return null;
+            byte[] patterns = new byte[rows * cols];
+            buffer.get(patterns);
+            return new FeedbackMatrix(rows, cols, patterns);
+        }
+        catch (IOException ioe) {
+            return null;
+        }
+    }
+
+    // Writes the matrix to a temporary file and moves it into place, so that
+    // a concurrent reader never sees a half-written cache.
+    private void write(Path file, long guessHash, long secretHash) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path tmp = Files.createTempFile(dir, "feedback-", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long) patterns.length);
+                buffer.putInt(MAGIC).putInt(guessCount).putInt(secretCount).putLong(guessHash).putLong(secretHash);
+                buffer.put(patterns);
+                buffer.force();
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    // Builds (or loads) the matrix for dictionary.txt and reports how long it took.
+    public static void main(String[] args) {
+        String filename = args.length > 0 ? args[0] : "dictionary.txt";
+        String cacheDir = args.length > 1 ? args[1] : ".";
+        PackedDictionary dict = PackedDictionary.load(filename);
+
+        long start = System.nanoTime();
+        FeedbackMatrix matrix = load(dict, cacheDir);
+        long elapsed = System.nanoTime() - start;
+
+        System.out.println(matrix.guessCount() + " x " + matrix.secretCount() + " patterns ready in "
+                           + (elapsed / 1_000_000) + " ms (" + cacheFile(dict, dict, cacheDir) + ")");
+    }
+}
@@ -0,0 +1,130 @@
+import java.util.Arrays;
+
+/**
+ * One game of Wordle without any console input or output: the same rules and
+ * boards as Wordle.main, driven by method calls. Useful for bots, servers and
+ * tests. An engine can be reused for any number of games, one at a time.
+ */
+public final class GameEngine {
+
+    public static final int WORD_LENGTH = 5;
+    public static final int MAX_ATTEMPTS = 6;
+
+    private final char[][] guesses = new char[MAX_ATTEMPTS][WORD_LENGTH];
+    private final char[][] results = new char[MAX_ATTEMPTS][WORD_LENGTH];
+    private String secret;
+    private int attempt;
+    private boolean won;
+
+    // Starts a new game with the given secret, clearing the boards.
+    public void startGame(String secret) {
+        if (secret == null || secret.length() != WORD_LENGTH) {
+            throw new IllegalArgumentException("secret must have " + WORD_LENGTH + " letters");
+        }
+        this.secret = secret;
+        this.attempt = 0;
+        this.won = false;
+        for (int row = 0; row < MAX_ATTEMPTS; row++) {
+            Arrays.fill(guesses[row], '\0');
+            Arrays.fill(results[row], '\0');
+        }
+    }
+
+    // Plays a guess and returns its feedback row (G / Y / _ per letter).
+    // Throws IllegalArgumentException if the guess does not have WORD_LENGTH
+    // letters, and IllegalStateException if no game is running.
+    public char[] submitGuess(String guess) {
+        if (secret == null) throw new IllegalStateException("no game started");
+        if (isOver()) throw new IllegalStateException("game is over");
+        if (guess == null || guess.length() != WORD_LENGTH) {
+            throw new IllegalArgumentException("guess must have " + WORD_LENGTH + " letters");
+        }
+        Wordle.storeGuess(guess, guesses, attempt);
+        Wordle.computeFeedback(secret, guess, results[attempt]);
+        won = Wordle.isAllGreen(results[attempt]);
+        attempt++;
+        return results[attempt - 1].clone();
+    }
+
+    // True once the secret was guessed or all attempts are used.
+    public boolean isOver() {
+        return won || attempt == MAX_ATTEMPTS;
+    }
+
+    public boolean isWon() {
+        return won;
+    }
+
+    // Number of guesses played in the current game.
+    public int attempts() {
+        return attempt;
+    }
+
+    // A hint for the next guess of the current game (see HintService).
+    public HintService.Hint hint(HintService hints) {
+        return hints.hint(guesses, results, attempt);
+    }
+
+    // A copy of the current game.
+    public Snapshot snapshot() {
+        return new Snapshot(this);
+    }
+
+    /**
+     * The state of a game at one point in time. Later guesses do not change it.
+     * The secret is only revealed once the game is over.
+     */
+    public static final class Snapshot {
+        private final char[][] guesses;
+        private final char[][] results;
+        private final int attempts;
+        private final boolean won;
+        private final boolean over;
+        private final String secret;
+
+        private Snapshot(GameEngine game) {
+            attempts = game.attempt;
+            won = game.won;
+            over = game.secret != null && game.isOver();
+            secret = over ? game.secret : null;
+            guesses = new char[attempts][];
+            results = new char[attempts][];
+            for (int row = 0; row < attempts; row++) {
+                guesses[row] = game.guesses[row].clone();
+                results[row] = game.results[row].clone();
+            }
+        }
+
+        public int attempts() {
+            return attempts;
+        }
+
+        public boolean isWon() {
+            return won;
+        }
+
+        public boolean isOver() {
+            return over;
+        }
+
+        // The secret word, or null while the game is still running.
+        public String secret() {
+            return secret;
+        }
+
+        // The guess played at the given row (0-based).
+        public String guess(int row) {
+            return new String(guesses[row]);
+        }
+
+        // The feedback of the given row (0-based), as G / Y / _ characters.
+        public String result(int row) {
+            return new String(results[row]);
+        }
+
+        // Prints the board the same way Wordle.printBoard does.
+        public void printBoard() {
+            if (attempts > 0) Wordle.printBoard(guesses, results, attempts - 1);
+        }
+    }
+}
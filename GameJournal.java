@@ -0,0 +1,330 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * An append-only journal of every guess played: one fixed-size binary record
+ * per guess (session, attempt, packed guess, pattern, timestamp) written into
+ * memory-mapped segment files. A segment holds a fixed number of records;
+ * when it is full the journal rolls over to the next one, so no file grows
+ * without bound and old segments can be archived or deleted as a whole.
+ * <p>
+ * Appending copies 24 bytes into the mapping under a short lock and does no
+ * I/O. Records reach the disk by group commit: a background thread forces the
+ * mapping every flush interval, or sooner when a caller is waiting in
+ * awaitDurable, and one force makes every record appended before it durable
+ * at once. A caller that must not lose a record calls awaitDurable with the
+ * sequence number append returned; one that can lose the last few
+ * milliseconds of records on a crash just appends.
+ * <p>
+ * Segments are named journal-NNNNNNNN.wj and start with a 16-byte header
+ * (magic, version, record size, records per segment). Unused records are all
+ * zero, so the end of the journal is the first record with attempt 0. See
+ * JournalReplay for reading it back.
+ */
+public final class GameJournal implements AutoCloseable {
+
+    // "WJN1"
+    static final int MAGIC = 0x574A4E31;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    // session (8), timestamp (8), packed guess (4), attempt (1), pattern (1), padding (2)
+    static final int RECORD_BYTES = 24;
+    static final int DEFAULT_SEGMENT_RECORDS = 1 << 20;
+    // at most 9 digits, so every number fits an int
+    private static final Pattern SEGMENT_NAME = Pattern.compile("journal-([0-9]{1,9})\\.wj");
+
+    private final Path dir;
+    private final int segmentRecords;
+    private final long flushMillis;
+
+    // guarded by this
+    private int segment;
+    private MappedByteBuffer buffer;
+    private int position;
+    private long appended;
+    // segments that are full but not yet forced, oldest first
+    private final List<MappedByteBuffer> sealed = new ArrayList<MappedByteBuffer>();
+    private boolean closed;
+
+    // guarded by durableLock
+    private final Object durableLock = new Object();
+    private long durable;
+    private boolean flushRequested;
+    private IOException flushError;
+    // set once the flusher has made its last flush and stopped
+    private boolean stopped;
+
+    private final Thread flusher;
+
+    // Opens the journal in dir (creating it if needed) with 1M records per
+    // segment, forced to disk every flushMillis.
+    public GameJournal(Path dir, long flushMillis) {
+        this(dir, DEFAULT_SEGMENT_RECORDS, flushMillis);
+    }
+
+    // Opens the journal in dir, appending after the last record already there.
+    // Throws IllegalArgumentException if the journal cannot be opened, or if
+    // an existing segment has another layout.
+    public GameJournal(Path dir, int segmentRecords, long flushMillis) {
+        if (segmentRecords < 1) throw new IllegalArgumentException("segmentRecords must be positive: " + segmentRecords);
+        if (flushMillis < 1) throw new IllegalArgumentException("flushMillis must be positive: " + flushMillis);
+        this.dir = dir;
+        this.segmentRecords = segmentRecords;
+        this.flushMillis = flushMillis;
+        try {
+            Files.createDirectories(dir);
+            List<Path> segments = segments(dir);
+            if (segments.isEmpty()) {
+                segment = 0;
+                buffer = map(0);
+                position = 0;
+            } else {
+                Path last = segments.get(segments.size() - 1);
+                segment = segmentNumber(last);
+                buffer = map(segment);
+                position = end(buffer, segmentRecords);
+            }
+        }
+        catch (IOException ioe) {
+            throw new IllegalArgumentException("Could not open journal " + dir, ioe);
+        }
+        appended = (long) segment * segmentRecords + position;
+        durable = appended;
+        flusher = new Thread(this::flushLoop, "journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    // Appends the record of one guess and returns its sequence number (the
+    // number of records before it in the journal). attempt is 1-based; a
+    // record with attempt 1 starts a new game of the session.
+    // Throws IllegalArgumentException if attempt or pattern is out of range,
+    // and IllegalStateException if the journal is closed.
+    public long append(long session, int attempt, int guess, int pattern) {
+        if (attempt < 1 || attempt > 255) throw new IllegalArgumentException("attempt out of range: " + attempt);
+        if (pattern < 0 || pattern > Wordle.ALL_GREEN) throw new IllegalArgumentException("pattern out of range: " + pattern);
+        long timestamp = System.currentTimeMillis();
+        synchronized (this) {
+            if (closed) throw new IllegalStateException("journal is closed");
+            if (position == segmentRecords) roll();
+            int offset = HEADER_BYTES + position * RECORD_BYTES;
+            buffer.putLong(offset, session);
+            buffer.putLong(offset + 8, timestamp);
+            buffer.putInt(offset + 16, guess);
+            buffer.put(offset + 21, (byte) pattern);
+            // written last: a record counts once its attempt is set
+            buffer.put(offset + 20, (byte) attempt);
+            position++;
+            return appended++;
+        }
+    }
+
+    // Waits until the record with the given sequence number, and every record
+    // before it, is on disk.
+    // Throws IllegalArgumentException if no such record was appended, and
+    // IllegalStateException if forcing the journal failed or the journal was
+    // closed before the record was forced.
+    public void awaitDurable(long sequence) throws InterruptedException {
+        long size = size();
+        if (sequence < 0 || sequence >= size) {
+            throw new IllegalArgumentException("no record " + sequence + " in a journal of " + size);
+        }
+        synchronized (durableLock) {
+            while (durable <= sequence) {
+                if (flushError != null) throw new IllegalStateException("journal flush failed", flushError);
+                if (stopped) throw new IllegalStateException("journal is closed");
+                flushRequested = true;
+                durableLock.notifyAll();
+                durableLock.wait();
+            }
+        }
+    }
+
+    // Number of records in the journal.
+    public synchronized long size() {
+        return appended;
+    }
+
+    public int segmentRecords() {
+        return segmentRecords;
+    }
+
+    public Path directory() {
+        return dir;
+    }
+
+    // Forces every record to disk, stops the flusher and unmaps the segments.
+    // An interrupt does not cut this short (the flusher may still be using the
+    // mapping); the thread's interrupt status is restored before returning.
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+        }
+        synchronized (durableLock) {
+            flushRequested = true;
+            durableLock.notifyAll();
+        }
+        boolean interrupted = false;
+        while (true) {
+            try {
+                flusher.join();
+                break;
+            }
+            catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        synchronized (this) {
+            Buffers.free(buffer);
+            buffer = null;
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    // Starts the next segment; the full one is forced and unmapped by the flusher.
+    private void roll() {
+        try {
+            sealed.add(buffer);
+            segment++;
+            buffer = map(segment);
+            position = 0;
+        }
+        catch (IOException ioe) {
+            throw new IllegalStateException("Could not create journal segment " + segment, ioe);
+        }
+    }
+
+    // Forces the journal every flushMillis, or as soon as someone waits in
+    // awaitDurable, until it is closed.
+    private void flushLoop() {
+        boolean stopping = false;
+        while (!stopping) {
+            synchronized (durableLock) {
+                if (!flushRequested) {
+                    try {
+                        durableLock.wait(flushMillis);
+                    }
+                    catch (InterruptedException e) {
+                        // flush once more and stop
+                        stopping = true;
+                    }
+                }
+                flushRequested = false;
+            }
+            synchronized (this) {
+                stopping |= closed;
+            }
+            flush();
+        }
+        synchronized (durableLock) {
+            stopped = true;
+            durableLock.notifyAll();
+        }
+    }
+
+    // One group commit: forces the full segments and the current one up to
+    // what was appended when the flush started.
+    private void flush() {
+        List<MappedByteBuffer> full;
+        MappedByteBuffer current;
+        long target;
+        synchronized (this) {
+            full = new ArrayList<MappedByteBuffer>(sealed);
+            sealed.clear();
+            current = buffer;
+            target = appended;
+        }
+        IOException error = null;
+        try {
+            for (MappedByteBuffer segment : full) {
+                segment.force();
+                Buffers.free(segment);
+            }
+            if (current != null) current.force();
+        }
+        catch (RuntimeException e) {
+            error = new IOException(e);
+        }
+        synchronized (durableLock) {
+            if (error != null) flushError = error;
+            else if (target > durable) durable = target;
+            durableLock.notifyAll();
+        }
+    }
+
+    // Maps segment number, creating it with its header if it does not exist.
+    private MappedByteBuffer map(int number) throws IOException {
+        Path file = segmentFile(dir, number);
+        long size = HEADER_BYTES + (long) segmentRecords * RECORD_BYTES;
+        boolean exists = Files.exists(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            if (exists) {
+                checkHeader(mapped, file);
+                if (mapped.getInt(12) != segmentRecords) {
+                    throw new IllegalArgumentException(file + " has " + mapped.getInt(12) + " records per segment, not " + segmentRecords);
+                }
+            } else {
+                mapped.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, RECORD_BYTES).putInt(12, segmentRecords);
+            }
+            return mapped;
+        }
+    }
+
+    // Throws IllegalArgumentException unless buffer starts with a journal header.
+    static void checkHeader(ByteBuffer buffer, Path file) {
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException(file + " is not a journal segment");
+        }
+        if (buffer.getInt(4) != VERSION || buffer.getInt(8) != RECORD_BYTES) {
+            throw new IllegalArgumentException(file + " has an unsupported journal version");
+        }
+    }
+
+    // Number of records in a segment: the index of the first one with attempt 0.
+    static int end(ByteBuffer buffer, int records) {
+        int limit = Math.min(records, (buffer.capacity() - HEADER_BYTES) / RECORD_BYTES);
+        for (int r = 0; r < limit; r++) {
+            if (buffer.get(HEADER_BYTES + r * RECORD_BYTES + 20) == 0) return r;
+        }
+        return limit;
+    }
+
+    // The segment files of a journal directory, in order. Files whose names
+    // are not journal-<number>.wj are not segments and are skipped.
+    static List<Path> segments(Path dir) throws IOException {
+        List<Path> segments = new ArrayList<Path>();
+        if (!Files.isDirectory(dir)) return segments;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "journal-*.wj")) {
+            for (Path file : files) {
+                if (segmentNumber(file) >= 0) segments.add(file);
+            }
+        }
+        Collections.sort(segments, Comparator.comparingInt(GameJournal::segmentNumber));
+        return segments;
+    }
+
+    static Path segmentFile(Path dir, int number) {
+        return dir.resolve(String.format("journal-%08d.wj", number));
+    }
+
+    // The number of a segment file, or -1 if the name is not a segment's.
+    private static int segmentNumber(Path file) {
+        Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+        return matcher.matches() ? Integer.parseInt(matcher.group(1)) : -1;
+    }
+}
@@ -0,0 +1,99 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load generator for GameServer. It first opens a number of idle sessions
+ * that just stay connected, then runs active sessions that play games with
+ * random dictionary words, timing every guess from request to reply. At the
+ * end it prints the guess throughput and the p50 / p99 / max latency.
+ * <p>
+ * Usage: java GameLoadClient [host] [port] [active sessions] [guesses per session] [idle sessions]
+ */
+public final class GameLoadClient {
+
+    public static void main(String[] args) throws Exception {
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 4242;
+        int active = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        int guesses = args.length > 3 ? Integer.parseInt(args[3]) : 1000;
+        int idle = args.length > 4 ? Integer.parseInt(args[4]) : 0;
+        String[] dict = Wordle.readDictionary("dictionary.txt");
+
+        ArrayList<Socket> idleSockets = new ArrayList<Socket>();
+        for (int i = 0; i < idle; i++) {
+            Socket socket = new Socket(host, port);
+            socket.getInputStream().read(new byte[64]);   // wait for WELCOME
+            idleSockets.add(socket);
+        }
+        if (idle > 0) System.out.println(idle + " idle sessions connected");
+
+        long[][] latencies = new long[active][];
+        ExecutorService threads = GameServer.newSessionExecutor();
+        long start = System.nanoTime();
+        for (int i = 0; i < active; i++) {
+            int session = i;
+            threads.execute(() -> latencies[session] = play(host, port, dict, guesses, session));
+        }
+        threads.shutdown();
+        threads.awaitTermination(1, TimeUnit.HOURS);
+        long elapsed = System.nanoTime() - start;
+
+        int total = 0;
+        for (long[] l : latencies) total += l == null ? 0 : l.length;
+        long[] all = new long[total];
+        int n = 0;
+        for (long[] l : latencies) {
+            if (l == null) continue;
+            System.arraycopy(l, 0, all, n, l.length);
+            n += l.length;
+        }
+        Arrays.sort(all);
+
+        System.out.println(total + " guesses from " + active + " sessions in " + elapsed / 1_000_000 + " ms ("
+                           + (long) (total * 1e9 / elapsed) + " guesses/s)");
+        if (total > 0) {
+            System.out.println("latency p50 " + micros(all[total / 2]) + " us, p99 "
+                               + micros(all[(int) (total * 0.99)]) + " us, max " + micros(all[total - 1]) + " us");
+        }
+        for (Socket socket : idleSockets) socket.close();
+    }
+
+    // Plays random guesses over one session and returns the latency of each.
+    private static long[] play(String host, int port, String[] dict, int guesses, int seed) {
+        long[] latencies = new long[guesses];
+        SplittableRandom random = new SplittableRandom(seed);
+        try (Socket socket = new Socket(host, port)) {
+            socket.setTcpNoDelay(true);
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            OutputStream out = socket.getOutputStream();
+            in.readLine();   // WELCOME
+            for (int i = 0; i < guesses; i++) {
+                String word = dict[random.nextInt(dict.length)];
+                long sent = System.nanoTime();
+                out.write(("GUESS " + word + "\n").getBytes(StandardCharsets.US_ASCII));
+                out.flush();
+                if (in.readLine() == null) return Arrays.copyOf(latencies, i);
+                latencies[i] = System.nanoTime() - sent;
+            }
+            out.write("QUIT\n".getBytes(StandardCharsets.US_ASCII));
+        }
+        catch (IOException ioe) {
+            System.err.println("session " + seed + " failed: " + ioe);
+            return new long[0];
+        }
+        return latencies;
+    }
+
+    private static long micros(long nanos) {
+        return nanos / 1000;
+    }
+}
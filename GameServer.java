@@ -0,0 +1,222 @@
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A local TCP Wordle server. Every connection is an independent session with
+ * its own secret and boards (a GameEngine), served by its own thread: a
+ * virtual thread on Java 21 and later, a pooled platform thread before that.
+ * <p>
+ * The protocol is line based. The server greets with {@code WELCOME 5 6}
+ * (word length, attempts) and starts a game. The client sends one command per
+ * line and gets one line back:
+ * <pre>
+ *   GUESS APPLE  -&gt;  FEEDBACK G_Y__ 1   (feedback row and attempt number)
+ *                -&gt;  WIN 3               (the guess was right, after 3 attempts)
+ *                -&gt;  LOSE APPLE          (out of attempts; reveals the secret)
+ *                -&gt;  INVALID reason      (the guess was not played)
+ *   HINT         -&gt;  HINT CRANE 12 0.85  (suggested guess, candidates left, confidence)
+ *   NEW          -&gt;  READY               (abandons the game, starts another)
+ *   QUIT         -&gt;  BYE                 (closes the session)
+ * </pre>
+ * After WIN or LOSE the next game starts by itself. Guesses are case-insensitive
+ * and must be words of the dictionary (checked by a shared WordValidator).
+ * <p>
+ * The dictionary comes from a DictionaryManager. Every game takes the manager's
+ * current snapshot when it starts and plays the whole game with it, so editing
+ * the word list of a running server changes the games started after the edit.
+ * <p>
+ * With a GameJournal, every guess played is recorded under the session's
+ * number (connections are numbered from 0 in the order they are accepted).
+ * <p>
+ * An idle session costs a socket, a parked thread and its In buffer; run with
+ * {@code -DIn.backend=fast} to keep that buffer at 1 KB per session.
+ */
+public final class GameServer {
+
+    // group commit interval of the journal
+    private static final long JOURNAL_FLUSH_MILLIS = 10;
+
+    private final DictionaryManager dictionaries;
+    // null when guesses are not journaled
+    private final GameJournal journal;
+    private final AtomicLong sessionIds = new AtomicLong();
+    private final ServerSocket serverSocket;
+    private final ExecutorService sessions;
+
+    // Listens on the given port (0 picks a free one) and serves secrets from
+    // dict, drawn with the given seed.
+    public GameServer(String[] dict, int port, long seed) throws IOException {
+        this(new DictionaryManager(dict, seed), port, null);
+    }
+
+    // Same as above with the dictionaries of a manager, recording every guess
+    // in journal if it is not null (the caller closes both after the server).
+    public GameServer(DictionaryManager dictionaries, int port, GameJournal journal) throws IOException {
+        this.dictionaries = dictionaries;
+        this.journal = journal;
+        this.serverSocket = new ServerSocket();
+        this.serverSocket.bind(new InetSocketAddress(port), 4096);
+        this.sessions = newSessionExecutor();
+    }
+
+    public int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    // Accepts connections until the server is closed.
+    public void serve() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                sessions.execute(() -> session(socket));
+            }
+            catch (IOException ioe) {
+                if (!serverSocket.isClosed()) System.err.println("accept failed: " + ioe);
+            }
+        }
+    }
+
+    public void close() throws IOException {
+        serverSocket.close();
+        sessions.shutdownNow();
+    }
+
+    // Plays games with one client until it quits or disconnects. Bad input is
+    // answered with INVALID by handle; anything else that goes wrong is a bug
+    // and is logged before the connection is dropped.
+    private void session(Socket socket) {
+        Session session = new Session(sessionIds.getAndIncrement());
+        try (Socket s = socket) {
+            s.setTcpNoDelay(true);
+            In in = new In(s);
+            OutputStream out = s.getOutputStream();
+            startGame(session);
+            send(out, "WELCOME " + GameEngine.WORD_LENGTH + " " + GameEngine.MAX_ATTEMPTS);
+
+            String line;
+            while ((line = in.readLine()) != null) {
+                String reply = handle(session, line.trim());
+                if (reply == null) continue;
+                send(out, reply);
+                if (reply.equals("BYE")) break;
+            }
+        }
+        catch (IOException ioe) {
+            // the client went away; nothing to clean up beyond the socket
+        }
+        catch (RuntimeException e) {
+            System.err.println("session " + session.id + " failed: " + e);
+            e.printStackTrace();
+        }
+    }
+
+    // Returns the reply to one command line, or null for a blank line.
+    private String handle(Session session, String line) {
+        if (line.isEmpty()) return null;
+        int space = line.indexOf(' ');
+        String command = (space < 0 ? line : line.substring(0, space)).toUpperCase(Locale.ROOT);
+        String argument = space < 0 ? "" : line.substring(space + 1).trim();
+
+        switch (command) {
+            case "GUESS":
+                return guess(session, argument.toUpperCase(Locale.ROOT));
+            case "HINT":
+                HintService.Hint hint = session.game.hint(session.dictionary.hints());
+                return "HINT " + hint.word() + " " + hint.candidates() + " "
+                       + String.format(Locale.ROOT, "%.2f", hint.confidence());
+            case "NEW":
+                startGame(session);
+                return "READY";
+            case "QUIT":
+                return "BYE";
+            default:
+                return "INVALID unknown command";
+        }
+    }
+
+    // Plays a guess once it is known to be a word of the game's dictionary.
+    private String guess(Session session, String guess) {
+        GameEngine game = session.game;
+        if (guess.length() != GameEngine.WORD_LENGTH) {
+            return "INVALID guess must have " + GameEngine.WORD_LENGTH + " letters";
+        }
+        int packed = PackedDictionary.tryPack(guess);
+        if (packed < 0 || !session.dictionary.validator().contains(packed)) {
+            return "INVALID not in word list";
+        }
+        char[] result = game.submitGuess(guess);
+        int attempts = game.attempts();
+        if (journal != null) journal.append(session.id, attempts, packed, CandidateIndex.pattern(result));
+        if (game.isWon()) {
+            startGame(session);
+            return "WIN " + attempts;
+        }
+        if (game.isOver()) {
+            String secret = game.snapshot().secret();
+            startGame(session);
+            return "LOSE " + secret;
+        }
+        return "FEEDBACK " + new String(result) + " " + attempts;
+    }
+
+    // Starts a new game of a session on the current dictionary. Guesses are
+    // upper-cased, so secrets are too. Each session thread draws from its own
+    // random stream.
+    private void startGame(Session session) {
+        session.dictionary = dictionaries.current();
+        session.game.startGame(session.dictionary.secrets().next().toUpperCase(Locale.ROOT));
+    }
+
+    // One connection: its number, its game and the dictionary of that game.
+    private static final class Session {
+        final long id;
+        final GameEngine game = new GameEngine();
+        DictionaryManager.Snapshot dictionary;
+
+        Session(long id) {
+            this.id = id;
+        }
+    }
+
+    private static void send(OutputStream out, String reply) throws IOException {
+        out.write((reply + "\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    // A thread per task: virtual threads where the JVM has them (Java 21+).
+    static ExecutorService newSessionExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        }
+        catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    // Usage: java GameServer [port] [dictionary] [journal directory]
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 4242;
+        String filename = args.length > 1 ? args[1] : "dictionary.txt";
+        GameJournal journal = args.length > 2 ? new GameJournal(Paths.get(args[2]), JOURNAL_FLUSH_MILLIS) : null;
+        // a fresh seed per run; a local file is followed for edits, a
+        // resource or URL is read once
+        long seed = System.nanoTime();
+        DictionaryManager dictionaries = new File(filename).isFile()
+                                         ? new DictionaryManager(Paths.get(filename), seed)
+                                         : new DictionaryManager(Wordle.readDictionary(filename), seed);
+        dictionaries.watch();
+        GameServer server = new GameServer(dictionaries, port, journal);
+        System.out.println("Wordle server listening on port " + server.port());
+        server.serve();
+    }
+}
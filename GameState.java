@@ -0,0 +1,186 @@
+/**
+ * The boards of one game (up to six guesses and their feedback) encoded in
+ * three {@code long}s, with no other objects.
+ * <p>
+ * Row i lives in long i / 2. Its guess is stored in base 26 (26^5 fits in 24
+ * bits) at bit 24 * (i % 2), and its base-3 pattern (see Wordle.ALL_GREEN) in
+ * the 8 bits at 48 + 8 * (i % 2). A row that has not been played has pattern
+ * 0xFF, so the attempt count and the won flag need no bits of their own: the
+ * attempts are the played rows, and the game is won if the last played row is
+ * all green.
+ * <p>
+ * The static methods work on the three longs at any offset of a long[], which
+ * is how GameStateStore keeps millions of games in one array; a GameState
+ * object is the same thing for a single game.
+ */
+public final class GameState {
+
+    public static final int LONGS = 3;
+    public static final int MAX_ATTEMPTS = 6;
+
+    // every row empty
+    static final long EMPTY = 0xFFFFL << 48;
+
+    private static final int BASE26_BITS = 24;
+    private static final int EMPTY_PATTERN = 0xFF;
+
+    private final long[] state = new long[LONGS];
+
+    public GameState() {
+        reset(state, 0);
+    }
+
+    // Clears the boards.
+    public void reset() {
+        reset(state, 0);
+    }
+
+    // Records a guess (see PackedDictionary.pack) and its feedback pattern in
+    // the next row, like Wordle.storeGuess and computeFeedback do for the boards.
+    // Throws IllegalStateException if the game is already over.
+    public void storeGuess(int guess, int pattern) {
+        storeGuess(state, 0, guess, pattern);
+    }
+
+    public int attempts() {
+        return attempts(state, 0);
+    }
+
+    // Like Wordle.isAllGreen on the last played row.
+    public boolean isWon() {
+        return isWon(state, 0);
+    }
+
+    public boolean isOver() {
+        return isOver(state, 0);
+    }
+
+    // The packed guess of a played row.
+    public int guess(int row) {
+        return guess(state, 0, row);
+    }
+
+    // The pattern of a played row.
+    public int pattern(int row) {
+        return pattern(state, 0, row);
+    }
+
+    // Fills the played rows of Wordle-style boards.
+    public void toBoards(char[][] guesses, char[][] results) {
+        toBoards(state, 0, guesses, results);
+    }
+
+    // Prints the played rows the same way Wordle.printBoard does.
+    public void printBoard() {
+        printBoard(state, 0);
+    }
+
+    // Copies the three longs to and from a store.
+    public void copyTo(long[] states, int offset) {
+        System.arraycopy(state, 0, states, offset, LONGS);
+    }
+
+    public void copyFrom(long[] states, int offset) {
+        System.arraycopy(states, offset, state, 0, LONGS);
+    }
+
+    // --- the encoding, on states[offset .. offset+2] ---
+
+    static void reset(long[] states, int offset) {
+        states[offset] = EMPTY;
+        states[offset + 1] = EMPTY;
+        states[offset + 2] = EMPTY;
+    }
+
+    static void storeGuess(long[] states, int offset, int guess, int pattern) {
+        int row = attempts(states, offset);
+        if (row == MAX_ATTEMPTS || isWon(states, offset)) {
+            throw new IllegalStateException("game is over");
+        }
+        if (pattern < 0 || pattern > Wordle.ALL_GREEN) {
+            throw new IllegalArgumentException("not a feedback pattern: " + pattern);
+        }
+        int half = row & 1;
+        long word = states[offset + (row >>> 1)];
+        word &= ~((long) EMPTY_PATTERN << (48 + 8 * half));
+        word |= (long) pattern << (48 + 8 * half);
+        word |= (long) toBase26(guess) << (BASE26_BITS * half);
+        states[offset + (row >>> 1)] = word;
+    }
+
+    static int attempts(long[] states, int offset) {
+        // rows are played in order, so count the rows before the first empty one
+        for (int row = 0; row < MAX_ATTEMPTS; row++) {
+            if (rawPattern(states, offset, row) == EMPTY_PATTERN) return row;
+        }
+        return MAX_ATTEMPTS;
+    }
+
+    static boolean isWon(long[] states, int offset) {
+        int attempts = attempts(states, offset);
+        return attempts > 0 && rawPattern(states, offset, attempts - 1) == Wordle.ALL_GREEN;
+    }
+
+    static boolean isOver(long[] states, int offset) {
+        return attempts(states, offset) == MAX_ATTEMPTS || isWon(states, offset);
+    }
+
+    static int guess(long[] states, int offset, int row) {
+        checkPlayed(states, offset, row);
+        long word = states[offset + (row >>> 1)];
+        return fromBase26((int) (word >>> (BASE26_BITS * (row & 1))) & ((1 << BASE26_BITS) - 1));
+    }
+
+    static int pattern(long[] states, int offset, int row) {
+        checkPlayed(states, offset, row);
+        return rawPattern(states, offset, row);
+    }
+
+    static void toBoards(long[] states, int offset, char[][] guesses, char[][] results) {
+        int attempts = attempts(states, offset);
+        for (int row = 0; row < attempts; row++) {
+            int guess = guess(states, offset, row);
+            for (int col = 0; col < PackedDictionary.WORD_LENGTH; col++) {
+                guesses[row][col] = (char) ('A' + PackedDictionary.letterAt(guess, col));
+            }
+            Wordle.patternToRow(rawPattern(states, offset, row), results[row]);
+        }
+    }
+
+    static void printBoard(long[] states, int offset) {
+        int attempts = attempts(states, offset);
+        if (attempts == 0) return;
+        char[][] guesses = new char[MAX_ATTEMPTS][PackedDictionary.WORD_LENGTH];
+        char[][] results = new char[MAX_ATTEMPTS][PackedDictionary.WORD_LENGTH];
+        toBoards(states, offset, guesses, results);
+        Wordle.printBoard(guesses, results, attempts - 1);
+    }
+
+    private static int rawPattern(long[] states, int offset, int row) {
+        return (int) (states[offset + (row >>> 1)] >>> (48 + 8 * (row & 1))) & EMPTY_PATTERN;
+    }
+
+    private static void checkPlayed(long[] states, int offset, int row) {
+        if (row < 0 || row >= MAX_ATTEMPTS || rawPattern(states, offset, row) == EMPTY_PATTERN) {
+            throw new IllegalArgumentException("row " + row + " has not been played");
+        }
+    }
+
+    // Packed word (5 bits per letter) to base 26 and back.
+    private static int toBase26(int packed) {
+        int value = 0;
+        for (int i = PackedDictionary.WORD_LENGTH - 1; i >= 0; i--) {
+            value = 26 * value + PackedDictionary.letterAt(packed, i);
+        }
+        return value;
+    }
+
+    private static int fromBase26(int value) {
+        int packed = 0;
+        for (int i = 0; i < PackedDictionary.WORD_LENGTH; i++) {
+            packed |= (value % 26) << (PackedDictionary.LETTER_BITS * i);
+            value /= 26;
+        }
+        return packed;
+    }
+}
@@ -0,0 +1,82 @@
+import java.util.Arrays;
+
+/**
+ * The boards of many games in one flat long[], three longs per session (see
+ * GameState for the encoding). Sessions are numbered 0 .. capacity-1 and hold
+ * no objects of their own, so a million stored games cost 24 MB and nothing
+ * for the garbage collector to trace.
+ * <p>
+ * Different sessions can be used from different threads at the same time;
+ * one session must only be written by one thread at a time.
+ */
+public final class GameStateStore {
+
+    private final long[] states;
+
+    // A store of capacity sessions, every one with empty boards.
+    public GameStateStore(int capacity) {
+        if (capacity < 0 || (long) capacity * GameState.LONGS > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("capacity out of range: " + capacity);
+        }
+        states = new long[capacity * GameState.LONGS];
+        Arrays.fill(states, GameState.EMPTY);
+    }
+
+    public int capacity() {
+        return states.length / GameState.LONGS;
+    }
+
+    // Clears the boards of a session, for a new game.
+    public void reset(int session) {
+        GameState.reset(states, offset(session));
+    }
+
+    // Records a packed guess and its pattern in the next row of a session.
+    // Throws IllegalStateException if that game is already over.
+    public void storeGuess(int session, int guess, int pattern) {
+        GameState.storeGuess(states, offset(session), guess, pattern);
+    }
+
+    public int attempts(int session) {
+        return GameState.attempts(states, offset(session));
+    }
+
+    public boolean isWon(int session) {
+        return GameState.isWon(states, offset(session));
+    }
+
+    public boolean isOver(int session) {
+        return GameState.isOver(states, offset(session));
+    }
+
+    public int guess(int session, int row) {
+        return GameState.guess(states, offset(session), row);
+    }
+
+    public int pattern(int session, int row) {
+        return GameState.pattern(states, offset(session), row);
+    }
+
+    // Fills the played rows of Wordle-style boards for a session.
+    public void toBoards(int session, char[][] guesses, char[][] results) {
+        GameState.toBoards(states, offset(session), guesses, results);
+    }
+
+    // Prints a session's boards the same way Wordle.printBoard does.
+    public void printBoard(int session) {
+        GameState.printBoard(states, offset(session));
+    }
+
+    // Copies a session into state, or state into a session.
+    public void load(int session, GameState state) {
+        state.copyFrom(states, offset(session));
+    }
+
+    public void store(int session, GameState state) {
+        state.copyTo(states, offset(session));
+    }
+
+    private static int offset(int session) {
+        return session * GameState.LONGS;
+    }
+}
@@ -0,0 +1,215 @@
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Suggests the next guess for a game in progress within a hard time budget.
+ * <p>
+ * A hint first finds the secrets still consistent with the boards, with the
+ * game's own feedback rules (CandidateIndex). It then scores guesses by the
+ * entropy of the partition they make of those candidates, like EntropySolver,
+ * but in a fixed order of prior promise: guesses are sorted once, at
+ * construction, by their entropy over the whole dictionary, so the ones most
+ * likely to be best are scored first. Scoring is anytime: at the deadline it
+ * stops and the best guess so far is returned, together with the fraction of
+ * guesses it was chosen from.
+ * <p>
+ * The deadline counts from the call, filtering included, and is checked
+ * before every guess but the first: the next guess is only started if it can
+ * be scored in time, judging by what the previous one cost. With a
+ * LazyFeedbackTable, a guess whose row is not resident is judged by what the
+ * hint's last row miss cost instead, as computing a row costs more than
+ * reading one.
+ * <p>
+ * A service is safe to use from many sessions at once; every thread keeps its
+ * own scratch arrays.
+ */
+public final class HintService {
+
+    // below 1/DIRECT_RATIO of the secrets left, patterns are computed from the
+    // packed words instead of read from the table: a lazy table would compute
+    // (and allocate) a whole row for a handful of lookups
+    private static final int DIRECT_RATIO = 16;
+
+    /**
+     * A suggested guess.
+     */
+    public static final class Hint {
+        private final String word;
+        private final int candidates;
+        private final double entropy;
+        private final double confidence;
+
+        private Hint(String word, int candidates, double entropy, double confidence) {
+            this.word = word;
+            this.candidates = candidates;
+            this.entropy = entropy;
+            this.confidence = confidence;
+        }
+
+        // The suggested guess.
+        public String word() {
+            return word;
+        }
+
+        // Number of secrets still consistent with the boards.
+        public int candidates() {
+            return candidates;
+        }
+
+        // Expected information of the suggested guess, in bits.
+        public double entropy() {
+            return entropy;
+        }
+
+        // Fraction of all guesses that were scored before the hint was chosen:
+        // 1 when the search was complete (or could not be beaten), less when
+        // the deadline cut it short.
+        public double confidence() {
+            return confidence;
+        }
+
+        @Override
+        public String toString() {
+            return word + " (" + candidates + " candidates, " + String.format(Locale.ROOT, "%.2f bits, %.0f%% searched)", entropy, 100 * confidence);
+        }
+    }
+
+    private final PackedDictionary dict;
+    private final PatternTable table;
+    // table, if rows can miss; null otherwise
+    private final LazyFeedbackTable lazy;
+    private final CandidateIndex index;
+    private final long budgetNanos;
+    // guess indexes, most promising first
+    private final int[] order;
+
+    private final ThreadLocal<Scratch> scratch;
+    private final LongAdder hints = new LongAdder();
+    private final LongAdder deadlineHits = new LongAdder();
+
+    // Scratch space of one thread.
+    private static final class Scratch {
+        final long[] set;
+        final int[] candidates;
+        final int[] counts = new int[EntropySolver.PATTERNS];
+
+        Scratch(CandidateIndex index) {
+            set = index.all();
+            candidates = new int[index.size()];
+        }
+    }
+
+    // Hints for games whose guesses and secrets are both words of dict, with
+    // patterns read from table (dict against itself) and at most budgetMicros
+    // spent scoring per hint.
+    public HintService(PackedDictionary dict, PatternTable table, long budgetMicros) {
+        this.dict = dict;
+        this.table = table;
+        this.lazy = table instanceof LazyFeedbackTable ? (LazyFeedbackTable) table : null;
+        this.index = new CandidateIndex(dict);
+        this.budgetNanos = budgetMicros * 1000;
+        this.order = priorOrder(dict);
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(index));
+    }
+
+    // The hint for the first rows of a game board.
+    // Throws IllegalArgumentException if a guess on the board is not a 5-letter
+    // word, or if no word of the dictionary is consistent with the boards.
+    public Hint hint(char[][] guesses, char[][] results, int rows) {
+        long deadline = System.nanoTime() + budgetNanos;
+        hints.increment();
+        Scratch s = scratch.get();
+        index.fill(s.set);
+        index.apply(s.set, guesses, results, rows, false);
+        int count = CandidateIndex.toIndexes(s.set, s.candidates);
+        if (count == 0) throw new IllegalArgumentException("no word is consistent with the boards");
+        if (count <= 2) {
+            // guessing a candidate is as good as it gets
+            return new Hint(dict.wordAt(s.candidates[0]), count, count == 2 ? 1.0 : 0.0, 1.0);
+        }
+
+        double bound = Math.log(Math.min(count, EntropySolver.PATTERNS)) / Math.log(2);
+        int best = -1;
+        double bestScore = -1;
+        boolean bestIsCandidate = false;
+        int scored = 0;
+        boolean direct = (long) count * DIRECT_RATIO <= table.secretCount();
+        int[] counts = s.counts;
+        long guessNanos = 0;
+        // what the last guess that computed its row took, in this hint
+        long missNanos = 0;
+        long started = System.nanoTime();
+        while (scored < order.length) {
+            int guess = order[scored];
+            boolean miss = !direct && lazy != null && !lazy.isResident(guess);
+            if (scored > 0) {
+                // the first guess is always scored, so that there is a hint
+                long now = System.nanoTime();
+                guessNanos = now - started;
+                started = now;
+                if (now + (miss ? Math.max(guessNanos, missNanos) : guessNanos) - deadline >= 0) {
+                    deadlineHits.increment();
+                    break;
+                }
+            }
+            scored++;
+            if (direct) {
+                int word = dict.word(guess);
+                for (int i = 0; i < count; i++) {
+                    counts[dict.feedback(s.candidates[i], word)]++;
+                }
+            }
+            else {
+                for (int i = 0; i < count; i++) {
+                    counts[table.pattern(guess, s.candidates[i])]++;
+                }
+            }
+            boolean candidate = counts[Wordle.ALL_GREEN] > 0;
+            double score = EntropySolver.entropy(counts, count);
+            if (score > bestScore + 1e-12 || (candidate && !bestIsCandidate && score > bestScore - 1e-12)) {
+                best = guess;
+                bestScore = score;
+                bestIsCandidate = candidate;
+            }
+            if (miss) missNanos = System.nanoTime() - started;
+            if (bestIsCandidate && bestScore > bound - 1e-9) {
+                // nothing can split the candidates better
+                scored = order.length;
+                break;
+            }
+        }
+        return new Hint(dict.wordAt(best), count, bestScore, (double) scored / order.length);
+    }
+
+    // Number of hints given.
+    public long hints() {
+        return hints.sum();
+    }
+
+    // Number of hints cut short by the time budget.
+    public long deadlineHits() {
+        return deadlineHits.sum();
+    }
+
+    // Guess indexes sorted by their entropy over the whole dictionary, best
+    // first (one FeedbackBatch row per guess).
+    private static int[] priorOrder(PackedDictionary dict) {
+        int n = dict.size();
+        FeedbackBatch batch = new FeedbackBatch(dict);
+        int[] row = new int[n];
+        int[] counts = new int[EntropySolver.PATTERNS];
+        long[] keyed = new long[n];
+        for (int g = 0; g < n; g++) {
+            batch.patterns(dict.word(g), row);
+            for (int s = 0; s < n; s++) counts[row[s]]++;
+            double entropy = EntropySolver.entropy(counts, n);
+            // higher entropy first, then lower index: sort (-entropy bits, index)
+            keyed[g] = ((long) (Integer.MAX_VALUE - (int) (entropy * 1e8)) << 32) | g;
+        }
+        Arrays.sort(keyed);
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) order[i] = (int) keyed[i];
+        return order;
+    }
+}
@@ -15,7 +15,9 @@ import java.io.InputStream;
 import java.net.URL;
 import java.net.Socket;
 import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.InputMismatchException;
 import java.util.Locale;
 import java.util.NoSuchElementException;
@@ -45,6 +47,11 @@ import java.util.regex.Pattern;
  *  consist of \n, \r, \r\n, and Unicode hex code points 0x2028, 0x2029, 0x0085;
  *  see <a href="http://www.docjar.com/html/api/java/util/Scanner.java.html">
  *  Scanner.java</a> (NB: Java 6u23 and earlier uses only \r, \r, \r\n).
+ *  <p>
+ *  Running with {@code -DIn.backend=fast} replaces {@link Scanner} with a
+ *  hand-written tokenizer for every input stream except {@link #In(Scanner)}.
+ *  It reads the same tokens, lines and numbers and throws the same
+ *  exceptions, but decodes and parses plain ASCII input several times faster.
  *
  *  @author David Pritchard
  *  @author Robert Sedgewick
@@ -73,14 +80,23 @@ public final class In {
 
     //// end: section (1 of 2) of code duplicated from In to StdIn.
 
+    // read with the Tokenizer below instead of Scanner (-DIn.backend=fast)
+    private static final boolean FAST = "fast".equals(System.getProperty("In.backend"));
+
+    // initial tokenizer buffer sizes; a server may hold many idle sockets,
+    // so those start small (the buffer grows if a line needs it)
+    private static final int STREAM_BUFFER = 1 << 16;
+    private static final int SOCKET_BUFFER = 1 << 10;
+
+    // exactly one of these is used
     private Scanner scanner;
+    private Tokenizer tokenizer;
 
    /**
      * Initializes an input stream from standard input.
      */
     public In() {
-        scanner = new Scanner(new BufferedInputStream(System.in), CHARSET_NAME);
-        scanner.useLocale(LOCALE);
+        open(System.in);
     }
 
    /**
@@ -94,8 +110,7 @@ public final class In {
         if (socket == null) throw new IllegalArgumentException("socket argument is null");
         try {
             InputStream is = socket.getInputStream();
-            scanner = new Scanner(new BufferedInputStream(is), CHARSET_NAME);
-            scanner.useLocale(LOCALE);
+            open(is, SOCKET_BUFFER);
         }
         catch (IOException ioe) {
             throw new IllegalArgumentException("Could not open " + socket, ioe);
@@ -114,8 +129,7 @@ public final class In {
         try {
             URLConnection site = url.openConnection();
             InputStream is     = site.getInputStream();
-            scanner            = new Scanner(new BufferedInputStream(is), CHARSET_NAME);
-            scanner.useLocale(LOCALE);
+            open(is);
         }
         catch (IOException ioe) {
             throw new IllegalArgumentException("Could not open " + url, ioe);
@@ -135,8 +149,7 @@ public final class In {
             // for consistency with StdIn, wrap with BufferedInputStream instead of use
             // file as argument to Scanner
             FileInputStream fis = new FileInputStream(file);
-            scanner = new Scanner(new BufferedInputStream(fis), CHARSET_NAME);
-            scanner.useLocale(LOCALE);
+            open(fis);
         }
         catch (IOException ioe) {
             throw new IllegalArgumentException("Could not open " + file, ioe);
@@ -162,8 +175,7 @@ public final class In {
                 // for consistency with StdIn, wrap with BufferedInputStream instead of use
                 // file as argument to Scanner
                 FileInputStream fis = new FileInputStream(file);
-                scanner = new Scanner(new BufferedInputStream(fis), CHARSET_NAME);
-                scanner.useLocale(LOCALE);
+                open(fis);
                 return;
             }
 
@@ -187,14 +199,28 @@ public final class In {
             // site.addRequestProperty("User-Agent", "Mozilla/4.76");
 
             InputStream is     = site.getInputStream();
-            scanner            = new Scanner(new BufferedInputStream(is), CHARSET_NAME);
-            scanner.useLocale(LOCALE);
+            open(is);
         }
         catch (IOException ioe) {
             throw new IllegalArgumentException("Could not open " + name, ioe);
         }
     }
 
+    // Reads from the given stream with a Scanner, or with a Tokenizer in fast mode.
+    private void open(InputStream is) {
+        open(is, STREAM_BUFFER);
+    }
+
+    private void open(InputStream is, int bufferSize) {
+        if (FAST) {
+            // the tokenizer does its own buffering
+            tokenizer = new Tokenizer(is, bufferSize);
+            return;
+        }
+        scanner = new Scanner(new BufferedInputStream(is), CHARSET_NAME);
+        scanner.useLocale(LOCALE);
+    }
+
     /**
      * Initializes an input stream from a given {@link Scanner} source; use with
      * {@code new Scanner(String)} to read from a string.
@@ -216,7 +242,7 @@ public final class In {
      * @return {@code true} if this input stream exists; {@code false} otherwise
      */
     public boolean exists()  {
-        return scanner != null;
+        return scanner != null || tokenizer != null;
     }
 
     ////  begin: section (2 of 2) of code duplicated from In to StdIn,
@@ -231,6 +257,7 @@ public final class In {
      *         {@code false} otherwise
      */
     public boolean isEmpty() {
+        if (tokenizer != null) return tokenizer.isEmpty();
         return !scanner.hasNext();
     }
 
@@ -244,6 +271,7 @@ public final class In {
      *         {@code false} otherwise
      */
     public boolean hasNextLine() {
+        if (tokenizer != null) return tokenizer.hasNextChar();
         return scanner.hasNextLine();
     }
 
@@ -256,6 +284,7 @@ public final class In {
      *         {@code false} otherwise
      */
     public boolean hasNextChar() {
+        if (tokenizer != null) return tokenizer.hasNextChar();
         scanner.useDelimiter(EMPTY_PATTERN);
         boolean result = scanner.hasNext();
         scanner.useDelimiter(WHITESPACE_PATTERN);
@@ -269,6 +298,7 @@ public final class In {
      * @return the next line in this input stream; {@code null} if no such line
      */
     public String readLine() {
+        if (tokenizer != null) return tokenizer.readLine();
         String line;
         try {
             line = scanner.nextLine();
@@ -286,6 +316,7 @@ public final class In {
      * @throws NoSuchElementException if the input stream is empty
      */
     public char readChar() {
+        if (tokenizer != null) return tokenizer.readChar();
         scanner.useDelimiter(EMPTY_PATTERN);
         try {
             String ch = scanner.next();
@@ -307,6 +338,7 @@ public final class In {
      * @return the remainder of this input stream, as a string
      */
     public String readAll() {
+        if (tokenizer != null) return tokenizer.readAll();
         if (!scanner.hasNextLine())
             return "";
 
@@ -324,6 +356,7 @@ public final class In {
      * @throws NoSuchElementException if the input stream is empty
      */
     public String readString() {
+        if (tokenizer != null) return tokenizer.readString();
         try {
             return scanner.next();
         }
@@ -342,6 +375,7 @@ public final class In {
      * @throws InputMismatchException if the next token cannot be parsed as an {@code int}
      */
     public int readInt() {
+        if (tokenizer != null) return tokenizer.readInt();
         try {
             return scanner.nextInt();
         }
@@ -365,6 +399,7 @@ public final class In {
      * @throws InputMismatchException if the next token cannot be parsed as a {@code double}
      */
     public double readDouble() {
+        if (tokenizer != null) return tokenizer.readDouble();
         try {
             return scanner.nextDouble();
         }
@@ -388,6 +423,7 @@ public final class In {
      * @throws InputMismatchException if the next token cannot be parsed as a {@code float}
      */
     public float readFloat() {
+        if (tokenizer != null) return tokenizer.readFloat();
         try {
             return scanner.nextFloat();
         }
@@ -411,6 +447,7 @@ public final class In {
      * @throws InputMismatchException if the next token cannot be parsed as a {@code long}
      */
     public long readLong() {
+        if (tokenizer != null) return tokenizer.readLong();
         try {
             return scanner.nextLong();
         }
@@ -434,6 +471,7 @@ public final class In {
      * @throws InputMismatchException if the next token cannot be parsed as a {@code short}
      */
     public short readShort() {
+        if (tokenizer != null) return tokenizer.readShort();
         try {
             return scanner.nextShort();
         }
@@ -459,6 +497,7 @@ public final class In {
      * @throws InputMismatchException if the next token cannot be parsed as a {@code byte}
      */
     public byte readByte() {
+        if (tokenizer != null) return tokenizer.readByte();
         try {
             return scanner.nextByte();
         }
@@ -505,6 +544,8 @@ public final class In {
      * @return all remaining tokens in this input stream, as an array of strings
      */
     public String[] readAllStrings() {
+        if (tokenizer != null) return tokenizer.readAllStrings();
+
         // we could use readAll.trim().split(), but that's not consistent
         // since trim() uses characters 0x00..0x20 as whitespace
         String[] tokens = WHITESPACE_PATTERN.split(readAll());
@@ -538,6 +579,7 @@ public final class In {
      * @return all remaining lines in this input stream, as an array of integers
      */
     public int[] readAllInts() {
+        if (tokenizer != null) return tokenizer.readAllInts();
         String[] fields = readAllStrings();
         int[] vals = new int[fields.length];
         for (int i = 0; i < fields.length; i++)
@@ -552,6 +594,7 @@ public final class In {
      * @return all remaining lines in this input stream, as an array of longs
      */
     public long[] readAllLongs() {
+        if (tokenizer != null) return tokenizer.readAllLongs();
         String[] fields = readAllStrings();
         long[] vals = new long[fields.length];
         for (int i = 0; i < fields.length; i++)
@@ -566,6 +609,7 @@ public final class In {
      * @return all remaining lines in this input stream, as an array of doubles
      */
     public double[] readAllDoubles() {
+        if (tokenizer != null) return tokenizer.readAllDoubles();
         String[] fields = readAllStrings();
         double[] vals = new double[fields.length];
         for (int i = 0; i < fields.length; i++)
@@ -579,7 +623,8 @@ public final class In {
      * Closes this input stream.
      */
     public void close() {
-        scanner.close();
+        if (tokenizer != null) tokenizer.close();
+        else scanner.close();
     }
 
     /**
@@ -657,6 +702,437 @@ public final class In {
         return new In().readAllStrings();
     }
 
+    /**
+     * The Scanner-free backend used with {@code -DIn.backend=fast}.
+     * <p>
+     * It decodes UTF-8 straight out of its own byte buffer and parses plain
+     * ASCII numbers ({@code [+-]digits} and {@code [+-]digits.digits}) itself.
+     * Any other token that might still be a number (grouping separators,
+     * exponents, non-ASCII digits, NaN, ...) is handed to a {@link Scanner}
+     * or to {@code Integer.parseInt} and friends, exactly as the Scanner
+     * backend would, so values and exceptions are the same in both modes.
+     */
+    private static final class Tokenizer {
+
+        // ASCII characters for which Character.isWhitespace is true
+        private static final boolean[] ASCII_WHITESPACE = new boolean[128];
+        static {
+            for (char c = 0; c < 128; c++) ASCII_WHITESPACE[c] = Character.isWhitespace(c);
+        }
+
+        // powers of ten that are exact doubles
+        private static final double[] POWERS_OF_TEN = new double[23];
+        static {
+            POWERS_OF_TEN[0] = 1;
+            for (int i = 1; i < POWERS_OF_TEN.length; i++) POWERS_OF_TEN[i] = POWERS_OF_TEN[i-1] * 10;
+        }
+
+        private final InputStream in;
+        private byte[] buf;
+        private int pos;
+        private int limit;
+        private boolean eof;
+
+        // low surrogate to return after readChar() returned the high one
+        private int pendingLow = -1;
+
+        // number of bytes of the character last decoded by codePointAt()
+        private int width;
+
+        // the token or line being read
+        private char[] token = new char[64];
+        private int length;
+
+        // value of the last token accepted by plainInteger() or plainDecimal()
+        private long integer;
+        private double decimal;
+
+        Tokenizer(InputStream in, int bufferSize) {
+            this.in = in;
+            this.buf = new byte[bufferSize];
+        }
+
+        // Makes at least n bytes available after pos unless the input ends
+        // first, and returns how many are available.
+        private int ensure(int n) {
+            while (limit - pos < n && !eof) {
+                if (limit == buf.length) {
+                    if (pos > 0) {
+                        System.arraycopy(buf, pos, buf, 0, limit - pos);
+                        limit -= pos;
+                        pos = 0;
+                    }
+                    else {
+                        buf = Arrays.copyOf(buf, 2 * buf.length);
+                    }
+                }
+                try {
+                    int read = in.read(buf, limit, buf.length - limit);
+                    if (read < 0) eof = true;
+                    else          limit += read;
+                }
+                catch (IOException ioe) {
+                    // like Scanner, treat a failing stream as one that has ended
+                    eof = true;
+                }
+            }
+            return limit - pos;
+        }
+
+        // Decodes the code point starting offset bytes after pos without
+        // consuming it, and sets width to its length in bytes. Returns -1 at
+        // the end of the input and U+FFFD for malformed bytes.
+        private int codePointAt(int offset) {
+            if (pos + offset < limit && buf[pos + offset] >= 0) {
+                width = 1;
+                return buf[pos + offset];
+            }
+            if (ensure(offset + 1) <= offset) return -1;
+            int lead = buf[pos + offset] & 0xFF;
+            width = 1;
+            if (lead < 0x80) return lead;
+
+            int more;
+            int cp;
+            int min;
+            if      (lead >= 0xC2 && lead <= 0xDF) { more = 1; cp = lead & 0x1F; min = 0x80;    }
+            else if (lead >= 0xE0 && lead <= 0xEF) { more = 2; cp = lead & 0x0F; min = 0x800;   }
+            else if (lead >= 0xF0 && lead <= 0xF4) { more = 3; cp = lead & 0x07; min = 0x10000; }
+            else return 0xFFFD;
+
+            int available = ensure(offset + 1 + more) - offset - 1;
+            for (int i = 1; i <= more; i++) {
+                if (i > available) return 0xFFFD;
+                int b = buf[pos + offset + i] & 0xFF;
+                if ((b & 0xC0) != 0x80) return 0xFFFD;
+                cp = (cp << 6) | (b & 0x3F);
+                width = i + 1;
+            }
+            if (cp < min || cp > Character.MAX_CODE_POINT || (cp >= 0xD800 && cp <= 0xDFFF)) {
+                return 0xFFFD;
+            }
+            return cp;
+        }
+
+        private static boolean isWhitespace(int cp) {
+            return cp < 128 ? cp >= 0 && ASCII_WHITESPACE[cp] : Character.isWhitespace(cp);
+        }
+
+        private void append(int cp) {
+            if (length + 2 > token.length) token = Arrays.copyOf(token, 2 * token.length);
+            if (cp < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                token[length++] = (char) cp;
+            }
+            else {
+                token[length++] = Character.highSurrogate(cp);
+                token[length++] = Character.lowSurrogate(cp);
+            }
+        }
+
+        private String tokenString() {
+            return new String(token, 0, length);
+        }
+
+        boolean hasNextChar() {
+            return pendingLow >= 0 || codePointAt(0) >= 0;
+        }
+
+        // Looks ahead (without consuming) for anything but whitespace.
+        boolean isEmpty() {
+            if (pendingLow >= 0) return false;
+            for (int offset = 0; ; offset += width) {
+                int cp = codePointAt(offset);
+                if (cp < 0) return true;
+                if (!isWhitespace(cp)) return false;
+            }
+        }
+
+        // Skips whitespace and reads the next token into token[0..length-1].
+        // Returns false if there is none.
+        private boolean nextToken() {
+            length = 0;
+            if (pendingLow >= 0) {
+                append(pendingLow);
+                pendingLow = -1;
+            }
+            else {
+                while (true) {
+                    int cp = codePointAt(0);
+                    if (cp < 0) return false;
+                    if (!isWhitespace(cp)) break;
+                    pos += width;
+                }
+            }
+            while (true) {
+                // plain ASCII, straight from the buffer
+                while (pos < limit) {
+                    int b = buf[pos];
+                    if (b < 0 || ASCII_WHITESPACE[b]) break;
+                    if (length == token.length) token = Arrays.copyOf(token, 2 * length);
+                    token[length++] = (char) b;
+                    pos++;
+                }
+                int cp = codePointAt(0);
+                if (cp < 0 || isWhitespace(cp)) return true;
+                append(cp);
+                pos += width;
+            }
+        }
+
+        String readString() {
+            if (!nextToken()) {
+                throw new NoSuchElementException("attempts to read a 'String' value from the input stream, "
+                                               + "but no more tokens are available");
+            }
+            return tokenString();
+        }
+
+        // Same line separators as Scanner.nextLine(): \r\n, \n, \r, 0x2028, 0x2029, 0x0085.
+        String readLine() {
+            if (!hasNextChar()) return null;
+            length = 0;
+            if (pendingLow >= 0) {
+                append(pendingLow);
+                pendingLow = -1;
+            }
+            while (true) {
+                while (pos < limit) {
+                    int b = buf[pos];
+                    if (b < 0 || b == '\n' || b == '\r') break;
+                    if (length == token.length) token = Arrays.copyOf(token, 2 * length);
+                    token[length++] = (char) b;
+                    pos++;
+                }
+                int cp = codePointAt(0);
+                if (cp < 0) break;
+                pos += width;
+                if (cp == '\n' || cp == 0x2028 || cp == 0x2029 || cp == 0x85) break;
+                if (cp == '\r') {
+                    if (codePointAt(0) == '\n') pos += width;
+                    break;
+                }
+                append(cp);
+            }
+            return tokenString();
+        }
+
+        char readChar() {
+            if (pendingLow >= 0) {
+                char low = (char) pendingLow;
+                pendingLow = -1;
+                return low;
+            }
+            int cp = codePointAt(0);
+            if (cp < 0) {
+                throw new NoSuchElementException("attempts to read a 'char' value from the input stream, "
+                                               + "but no more tokens are available");
+            }
+            pos += width;
+            if (cp < Character.MIN_SUPPLEMENTARY_CODE_POINT) return (char) cp;
+            pendingLow = Character.lowSurrogate(cp);
+            return Character.highSurrogate(cp);
+        }
+
+        String readAll() {
+            String prefix = "";
+            if (pendingLow >= 0) {
+                prefix = String.valueOf((char) pendingLow);
+                pendingLow = -1;
+            }
+            while (!eof) ensure(limit - pos + 1);
+            String rest = new String(buf, pos, limit - pos, StandardCharsets.UTF_8);
+            pos = limit;
+            return prefix + rest;
+        }
+
+        String[] readAllStrings() {
+            ArrayList<String> tokens = new ArrayList<String>();
+            while (nextToken()) tokens.add(tokenString());
+            return tokens.toArray(new String[0]);
+        }
+
+        // True if the token is [+-]digits with at most 18 digits; its value
+        // is then in integer.
+        private boolean plainInteger() {
+            int i = 0;
+            boolean negative = false;
+            if (length > 0 && (token[0] == '-' || token[0] == '+')) {
+                negative = token[0] == '-';
+                i = 1;
+            }
+            if (length - i < 1 || length - i > 18) return false;
+            long value = 0;
+            for (; i < length; i++) {
+                int digit = token[i] - '0';
+                if (digit < 0 || digit > 9) return false;
+                value = 10 * value + digit;
+            }
+            integer = negative ? -value : value;
+            return true;
+        }
+
+        // True if the token is [+-]digits[.digits] with at most 15 digits, so
+        // that one exact division gives the correctly rounded double; its
+        // value is then in decimal.
+        private boolean plainDecimal() {
+            int i = 0;
+            boolean negative = false;
+            if (length > 0 && (token[0] == '-' || token[0] == '+')) {
+                negative = token[0] == '-';
+                i = 1;
+            }
+            long mantissa = 0;
+            int digits = 0;
+            int fraction = -1;
+            for (; i < length; i++) {
+                char c = token[i];
+                if (c == '.' && fraction < 0 && digits > 0) {
+                    fraction = 0;
+                    continue;
+                }
+                int digit = c - '0';
+                if (digit < 0 || digit > 9 || ++digits > 15) return false;
+                mantissa = 10 * mantissa + digit;
+                if (fraction >= 0) fraction++;
+            }
+            if (digits == 0 || fraction == 0) return false;
+            double value = fraction > 0 ? mantissa / POWERS_OF_TEN[fraction] : mantissa;
+            decimal = negative ? -value : value;
+            return true;
+        }
+
+        // A Scanner over the current token, for the tokens we do not parse ourselves.
+        private Scanner tokenScanner() {
+            Scanner scanner = new Scanner(tokenString());
+            scanner.useLocale(LOCALE);
+            return scanner;
+        }
+
+        private InputMismatchException mismatch(String what) {
+            return new InputMismatchException("attempts to read " + what + " value from the input stream, "
+                                            + "but the next token is \"" + tokenString() + "\"");
+        }
+
+        private NoSuchElementException noMoreTokens(String what) {
+            return new NoSuchElementException("attemps to read " + what + " value from the input stream, "
+                                            + "but no more tokens are available");
+        }
+
+        int readInt() {
+            if (!nextToken()) throw noMoreTokens("an 'int'");
+            if (plainInteger() && integer >= Integer.MIN_VALUE && integer <= Integer.MAX_VALUE) return (int) integer;
+            try {
+                return tokenScanner().nextInt();
+            }
+            catch (NoSuchElementException e) {
+                throw mismatch("an 'int'");
+            }
+        }
+
+        long readLong() {
+            if (!nextToken()) throw noMoreTokens("a 'long'");
+            if (plainInteger()) return integer;
+            try {
+                return tokenScanner().nextLong();
+            }
+            catch (NoSuchElementException e) {
+                throw mismatch("a 'long'");
+            }
+        }
+
+        short readShort() {
+            if (!nextToken()) throw noMoreTokens("a 'short'");
+            if (plainInteger() && integer >= Short.MIN_VALUE && integer <= Short.MAX_VALUE) return (short) integer;
+            try {
+                return tokenScanner().nextShort();
+            }
+            catch (NoSuchElementException e) {
+                throw mismatch("a 'short'");
+            }
+        }
+
+        byte readByte() {
+            if (!nextToken()) throw noMoreTokens("a 'byte'");
+            if (plainInteger() && integer >= Byte.MIN_VALUE && integer <= Byte.MAX_VALUE) return (byte) integer;
+            try {
+                return tokenScanner().nextByte();
+            }
+            catch (NoSuchElementException e) {
+                throw mismatch("a 'byte'");
+            }
+        }
+
+        double readDouble() {
+            if (!nextToken()) throw noMoreTokens("a 'double'");
+            if (plainDecimal()) return decimal;
+            try {
+                return tokenScanner().nextDouble();
+            }
+            catch (NoSuchElementException e) {
+                throw mismatch("a 'double'");
+            }
+        }
+
+        float readFloat() {
+            if (!nextToken()) throw noMoreTokens("a 'float'");
+            // a double rounded to float may differ from the float closest to the
+            // token, so plain decimals still go through Float.parseFloat
+            if (plainDecimal()) return Float.parseFloat(tokenString());
+            try {
+                return tokenScanner().nextFloat();
+            }
+            catch (NoSuchElementException e) {
+                throw mismatch("a 'float'");
+            }
+        }
+
+        // The readAll* methods parse like Integer.parseInt and friends do in the
+        // Scanner backend, including the NumberFormatException for bad tokens.
+        int[] readAllInts() {
+            int[] vals = new int[16];
+            int n = 0;
+            while (nextToken()) {
+                if (n == vals.length) vals = Arrays.copyOf(vals, 2 * n);
+                if (plainInteger() && integer >= Integer.MIN_VALUE && integer <= Integer.MAX_VALUE) {
+                    vals[n++] = (int) integer;
+                }
+                else {
+                    vals[n++] = Integer.parseInt(tokenString());
+                }
+            }
+            return Arrays.copyOf(vals, n);
+        }
+
+        long[] readAllLongs() {
+            long[] vals = new long[16];
+            int n = 0;
+            while (nextToken()) {
+                if (n == vals.length) vals = Arrays.copyOf(vals, 2 * n);
+                vals[n++] = plainInteger() ? integer : Long.parseLong(tokenString());
+            }
+            return Arrays.copyOf(vals, n);
+        }
+
+        double[] readAllDoubles() {
+            double[] vals = new double[16];
+            int n = 0;
+            while (nextToken()) {
+                if (n == vals.length) vals = Arrays.copyOf(vals, 2 * n);
+                vals[n++] = plainDecimal() ? decimal : Double.parseDouble(tokenString());
+            }
+            return Arrays.copyOf(vals, n);
+        }
+
+        void close() {
+            try {
+                in.close();
+            }
+            catch (IOException ioe) {
+                // Scanner.close() ignores this too
+            }
+        }
+    }
+
    /**
      * Unit tests the {@code In} data type.
      *
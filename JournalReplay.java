@@ -0,0 +1,234 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads a GameJournal back: rebuilds the boards of every session (the last
+ * game of each, in a GameStateStore) and counts won, lost and abandoned games.
+ * Segments are mapped read-only and records decoded in place with absolute
+ * gets, so replay parses no text and allocates nothing per record; session ids
+ * are mapped to store slots by an open-addressing table of longs.
+ * <p>
+ * A record with attempt 1 starts a new game of its session; a game that had
+ * not ended by then counts as abandoned. Records that do not continue their
+ * session's game (a missing attempt, a guess after the end) are counted as
+ * skipped and otherwise ignored.
+ * <p>
+ * Usage: java JournalReplay [journal directory]
+ */
+public final class JournalReplay {
+
+    private static final int NO_SLOT = -1;
+
+    // session id -> slot, open addressing with linear probing
+    private long[] keys = new long[1024];
+    private int[] slots = new int[1024];
+    private int sessions;
+    private GameStateStore store = new GameStateStore(512);
+
+    private long records;
+    private long skipped;
+    private long games;
+    private long won;
+    private long lost;
+    private long abandoned;
+    private final long[] wonIn = new long[GameState.MAX_ATTEMPTS + 1];
+
+    private JournalReplay() {
+        Arrays.fill(slots, NO_SLOT);
+    }
+
+    // Replays every segment of the journal in dir.
+    // Throws IllegalArgumentException if a segment cannot be read or is not a
+    // journal segment.
+    public static JournalReplay replay(Path dir) {
+        JournalReplay replay = new JournalReplay();
+        try {
+            List<Path> segments = GameJournal.segments(dir);
+            for (Path segment : segments) replay.segment(segment);
+        }
+        catch (IOException ioe) {
+            throw new IllegalArgumentException("Could not read journal " + dir, ioe);
+        }
+        return replay;
+    }
+
+    // Number of records read.
+    public long records() {
+        return records;
+    }
+
+    // Number of records that did not continue their session's game.
+    public long skipped() {
+        return skipped;
+    }
+
+    // Number of games started.
+    public long games() {
+        return games;
+    }
+
+    public long won() {
+        return won;
+    }
+
+    public long lost() {
+        return lost;
+    }
+
+    // Games that were left for a new one before they ended.
+    public long abandoned() {
+        return abandoned;
+    }
+
+    // Games won with exactly the given number of attempts.
+    public long wonIn(int attempts) {
+        return wonIn[attempts];
+    }
+
+    // Number of distinct sessions in the journal.
+    public int sessions() {
+        return sessions;
+    }
+
+    // The boards of the last game of every session, by slot (see slot).
+    public GameStateStore store() {
+        return store;
+    }
+
+    // The store slot of a session, or -1 if the session is not in the journal.
+    public int slot(long session) {
+        int mask = keys.length - 1;
+        for (int i = hash(session) & mask; slots[i] != NO_SLOT; i = (i + 1) & mask) {
+            if (keys[i] == session) return slots[i];
+        }
+        return NO_SLOT;
+    }
+
+    // Fills Wordle-style boards with the last game of a session and returns
+    // the number of rows played.
+    // Throws IllegalArgumentException if the session is not in the journal.
+    public int toBoards(long session, char[][] guesses, char[][] results) {
+        int slot = slot(session);
+        if (slot == NO_SLOT) throw new IllegalArgumentException("no session " + session + " in the journal");
+        store.toBoards(slot, guesses, results);
+        return store.attempts(slot);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder distribution = new StringBuilder();
+        for (int a = 1; a < wonIn.length; a++) distribution.append(a == 1 ? "" : " ").append(a).append(':').append(wonIn[a]);
+        return String.format(Locale.ROOT, "%d records, %d sessions, %d games: %d won (%s), %d lost, %d abandoned, %d unfinished; %d skipped",
+                             records, sessions, games, won, distribution, lost, abandoned, games - won - lost - abandoned, skipped);
+    }
+
+    private void segment(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            GameJournal.checkHeader(buffer, file);
+            int count = GameJournal.end(buffer, buffer.getInt(12));
+            for (int r = 0; r < count; r++) {
+                record(buffer, GameJournal.HEADER_BYTES + r * GameJournal.RECORD_BYTES);
+            }
+            Buffers.free(buffer);
+        }
+    }
+
+    private void record(ByteBuffer buffer, int offset) {
+        records++;
+        long session = buffer.getLong(offset);
+        int guess = buffer.getInt(offset + 16);
+        int attempt = buffer.get(offset + 20) & 0xFF;
+        int pattern = buffer.get(offset + 21) & 0xFF;
+
+        int slot = slotOrAdd(session);
+        int played = store.attempts(slot);
+        if (attempt == 1) {
+            if (played > 0 && !store.isOver(slot)) abandoned++;
+            store.reset(slot);
+            games++;
+        } else if (attempt != played + 1 || store.isOver(slot)) {
+            skipped++;
+            return;
+        }
+        if (attempt > GameState.MAX_ATTEMPTS || pattern > Wordle.ALL_GREEN) {
+            skipped++;
+            return;
+        }
+        store.storeGuess(slot, guess, pattern);
+        if (pattern == Wordle.ALL_GREEN) {
+            won++;
+            wonIn[attempt]++;
+        } else if (attempt == GameState.MAX_ATTEMPTS) {
+            lost++;
+        }
+    }
+
+    private int slotOrAdd(long session) {
+        int mask = keys.length - 1;
+        int i = hash(session) & mask;
+        for (; slots[i] != NO_SLOT; i = (i + 1) & mask) {
+            if (keys[i] == session) return slots[i];
+        }
+        if (sessions == store.capacity()) growStore();
+        keys[i] = session;
+        slots[i] = sessions;
+        sessions++;
+        if (2 * sessions > keys.length) growTable();
+        return sessions - 1;
+    }
+
+    // Doubles the store, copying every session's boards.
+    private void growStore() {
+        GameStateStore larger = new GameStateStore(2 * store.capacity());
+        GameState state = new GameState();
+        for (int s = 0; s < sessions; s++) {
+            store.load(s, state);
+            larger.store(s, state);
+        }
+        store = larger;
+    }
+
+    private void growTable() {
+        long[] oldKeys = keys;
+        int[] oldSlots = slots;
+        keys = new long[2 * oldKeys.length];
+        slots = new int[2 * oldSlots.length];
+        Arrays.fill(slots, NO_SLOT);
+        int mask = keys.length - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldSlots[j] == NO_SLOT) continue;
+            int i = hash(oldKeys[j]) & mask;
+            while (slots[i] != NO_SLOT) i = (i + 1) & mask;
+            keys[i] = oldKeys[j];
+            slots[i] = oldSlots[j];
+        }
+    }
+
+    // SplitMix64's finalizer, folded to an int.
+    private static int hash(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z = z ^ (z >>> 31);
+        return (int) (z ^ (z >>> 32));
+    }
+
+    // Replays a journal and prints its statistics and the replay rate.
+    public static void main(String[] args) {
+        Path dir = Paths.get(args.length > 0 ? args[0] : "journal");
+        long start = System.nanoTime();
+        JournalReplay replay = replay(dir);
+        long elapsed = System.nanoTime() - start;
+        System.out.println(replay);
+        System.out.println(String.format(Locale.ROOT, "replayed in %.1f ms (%.1f M records/s)",
+                                         elapsed / 1e6, replay.records() / (elapsed / 1e3)));
+    }
+}
@@ -0,0 +1,148 @@
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A PatternTable that computes rows only when they are first read and keeps at
+ * most a fixed number of them. It gives most of the speed of a FeedbackMatrix
+ * when the whole matrix does not fit: solvers tend to come back to the same
+ * few thousand guesses, and each of their rows is computed once (with one
+ * FeedbackBatch pass) instead of on every lookup.
+ * <p>
+ * Rows are evicted with the clock algorithm: every resident row has a
+ * reference bit that reads set, and the clock hand clears bits until it finds
+ * a row that has not been read since its last pass. Reads take no lock; only
+ * inserting a row does. A reader that still holds an evicted row keeps using
+ * it safely, as rows are never modified.
+ * <p>
+ * Hits, misses and evictions are counted, so the bound can be sized from a
+ * real workload. The counters are LongAdders, striped per thread, so counting
+ * a hit does not make concurrent readers contend.
+ */
+public final class LazyFeedbackTable implements PatternTable {
+
+    private final PackedDictionary guesses;
+    private final FeedbackBatch batch;
+    private final AtomicReferenceArray<byte[]> rows;
+    // set when a row is read; cleared by the clock hand
+    private final byte[] referenced;
+
+    // the clock: the guess index held by every slot (-1 if free) and the hand
+    private final int[] slots;
+    private int hand;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    // A table of the guesses against the secrets that keeps at most maxRows
+    // rows (of secrets.size() bytes each).
+    public LazyFeedbackTable(PackedDictionary guesses, PackedDictionary secrets, int maxRows) {
+        if (maxRows < 1) throw new IllegalArgumentException("maxRows must be positive: " + maxRows);
+        this.guesses = guesses;
+        this.batch = new FeedbackBatch(secrets);
+        this.rows = new AtomicReferenceArray<byte[]>(guesses.size());
+        this.referenced = new byte[guesses.size()];
+        this.slots = new int[Math.min(maxRows, Math.max(1, guesses.size()))];
+        Arrays.fill(slots, -1);
+    }
+
+    @Override
+    public int guessCount() {
+        return guesses.size();
+    }
+
+    @Override
+    public int secretCount() {
+        return batch.size();
+    }
+
+    @Override
+    public int pattern(int guess, int secret) {
+        return row(guess)[secret] & 0xFF;
+    }
+
+    @Override
+    public int filter(int guess, int pattern, int[] candidates, int count) {
+        byte[] row = row(guess);
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            int secret = candidates[i];
+            if ((row[secret] & 0xFF) == pattern) {
+                candidates[kept++] = secret;
+            }
+        }
+        return kept;
+    }
+
+    // The patterns of the guess against every secret. The array is shared and
+    // must not be modified.
+    public byte[] row(int guess) {
+        byte[] row = rows.get(guess);
+        if (row != null) {
+            hits.increment();
+            referenced[guess] = 1;   // a lost update only makes eviction a bit less exact
+            return row;
+        }
+        misses.increment();
+        row = new byte[batch.size()];
+        batch.patterns(guesses.word(guess), row, 0);
+        return insert(guess, row);
+    }
+
+    // Returns true if the guess's row is resident, so that reading it computes
+    // nothing. The answer may be stale by the time the row is read.
+    public boolean isResident(int guess) {
+        return rows.get(guess) != null;
+    }
+
+    // Number of row reads (a pattern or filter call reads one) that found the
+    // row resident.
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    // Number of rows the table may keep.
+    public int maxRows() {
+        return slots.length;
+    }
+
+    @Override
+    public String toString() {
+        long h = hits(), m = misses();
+        return String.format(Locale.ROOT, "%d hits, %d misses (%.1f%% hit rate), %d evictions, %d rows of %d",
+                             h, m, h + m == 0 ? 0.0 : 100.0 * h / (h + m), evictions(), slots.length, guesses.size());
+    }
+
+    // Makes row resident for guess, evicting another row if the clock is full,
+    // and returns the row now resident (another thread may have won the race).
+    private synchronized byte[] insert(int guess, byte[] row) {
+        byte[] current = rows.get(guess);
+        if (current != null) return current;
+        while (true) {
+            int victim = slots[hand];
+            if (victim < 0) break;
+            if (referenced[victim] == 0) {
+                rows.set(victim, null);
+                evictions.increment();
+                break;
+            }
+            referenced[victim] = 0;
+            hand = (hand + 1) % slots.length;
+        }
+        slots[hand] = guess;
+        referenced[guess] = 0;
+        hand = (hand + 1) % slots.length;
+        rows.set(guess, row);
+        return row;
+    }
+}
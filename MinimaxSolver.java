@@ -0,0 +1,208 @@
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Minimizes the worst-case number of guesses instead of the expected number.
+ * <p>
+ * The solver searches the game tree with iterative deepening: a set of candidate
+ * secrets can be solved in d guesses if some guess splits it so that every part
+ * (other than the all-green one) can be solved in d-1 guesses. Results are
+ * memoized per candidate subset, keyed by its bitset, so a subset reached along
+ * different paths is only searched once per depth. Large subsets try their
+ * guesses in parallel.
+ */
+public final class MinimaxSolver implements Strategy {
+
+    // subsets at least this large try their guesses in parallel
+    private static final int PARALLEL_SUBSET = 64;
+
+    private final PatternTable matrix;
+    private final int maxDepth;
+    private final int words;
+
+    // For every subset seen so far: the smallest depth known to be enough, the
+    // guess that achieves it and the largest depth known not to be enough,
+    // packed as (guess << 16) | (solvable << 8) | failed. 0xFF means "no depth".
+    private final ConcurrentHashMap<Subset, Long> memo = new ConcurrentHashMap<>();
+
+    // Searches up to maxDepth guesses (Wordle allows 6).
+    public MinimaxSolver(PatternTable matrix, int maxDepth) {
+        this.matrix = matrix;
+        this.maxDepth = maxDepth;
+        this.words = (matrix.secretCount() + 63) / 64;
+    }
+
+    @Override
+    public int nextGuess(int[] candidates, int count) {
+        int[] subset = Arrays.copyOf(candidates, count);
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            int guess = solve(subset, count, depth);
+            if (guess >= 0) return guess;
+        }
+        // nothing is guaranteed within maxDepth: settle for the smallest worst case
+        return orderedGuesses(subset, count)[0];
+    }
+
+    // Returns the fewest guesses that always find the secret among the first
+    // count candidates, or -1 if that takes more than maxDepth.
+    public int worstCase(int[] candidates, int count) {
+        int[] subset = Arrays.copyOf(candidates, count);
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            if (solve(subset, count, depth) >= 0) return depth;
+        }
+        return -1;
+    }
+
+    // Number of distinct candidate subsets searched so far.
+    public int memoSize() {
+        return memo.size();
+    }
+
+    // Returns a guess that finds any of the candidates within depth guesses,
+    // or -1 if there is none. A lone candidate is answered by guessing it.
+    private int solve(int[] candidates, int count, int depth) {
+        if (count == 0) return 0;
+        if (depth == 0) return -1;
+        if (count == 1) return winningGuess(candidates[0]);
+        if (depth == 1) return -1;
+
+        Subset key = new Subset(candidates, count, words);
+        Long known = memo.get(key);
+        if (known != null) {
+            if (depth >= solvableDepth(known)) return (int) (known >>> 16);
+            if (depth <= failedDepth(known)) return -1;
+        }
+
+        int[] order = orderedGuesses(candidates, count);
+        IntStream guesses = Arrays.stream(order);
+        if (count >= PARALLEL_SUBSET) guesses = guesses.parallel();
+        int guess = guesses.filter(g -> splitsWithin(g, candidates, count, depth)).findFirst().orElse(-1);
+
+        long entry = guess >= 0 ? ((long) guess << 16) | (depth << 8) : (0xFF << 8) | depth;
+        memo.merge(key, entry, MinimaxSolver::mergeBounds);
+        return guess;
+    }
+
+    // True if after guessing g, every part of the candidates that is not solved
+    // by g itself can be solved within depth-1 more guesses.
+    private boolean splitsWithin(int g, int[] candidates, int count, int depth) {
+        int[] start = new int[EntropySolver.PATTERNS + 1];
+        for (int i = 0; i < count; i++) {
+            start[matrix.pattern(g, candidates[i]) + 1]++;
+        }
+        for (int p = 0; p < EntropySolver.PATTERNS; p++) {
+            int size = start[p + 1];
+            if (size == count) return false;   // g tells nothing
+            if (p != Wordle.ALL_GREEN && depth == 2 && size > 1) return false;
+            start[p + 1] += start[p];
+        }
+
+        // counting sort of the candidates by pattern
+        int[] parts = new int[count];
+        int[] next = Arrays.copyOf(start, EntropySolver.PATTERNS);
+        for (int i = 0; i < count; i++) {
+            parts[next[matrix.pattern(g, candidates[i])]++] = candidates[i];
+        }
+
+        for (int p = 0; p < EntropySolver.PATTERNS; p++) {
+            int size = start[p + 1] - start[p];
+            if (size == 0 || p == Wordle.ALL_GREEN) continue;
+            int[] part = Arrays.copyOfRange(parts, start[p], start[p + 1]);
+            if (solve(part, size, depth - 1) < 0) return false;
+        }
+        return true;
+    }
+
+    // All guesses, the ones with the smallest largest part first.
+    private int[] orderedGuesses(int[] candidates, int count) {
+        int guessCount = matrix.guessCount();
+        long[] keyed = new long[guessCount];
+        int[] counts = new int[EntropySolver.PATTERNS];
+        for (int g = 0; g < guessCount; g++) {
+            int largest = 0;
+            for (int i = 0; i < count; i++) {
+                int size = ++counts[matrix.pattern(g, candidates[i])];
+                if (size > largest) largest = size;
+            }
+            Arrays.fill(counts, 0);
+            keyed[g] = ((long) largest << 32) | g;
+        }
+        Arrays.sort(keyed);
+        int[] order = new int[guessCount];
+        for (int g = 0; g < guessCount; g++) {
+            order[g] = (int) keyed[g];
+        }
+        return order;
+    }
+
+    private int winningGuess(int secret) {
+        for (int g = 0; g < matrix.guessCount(); g++) {
+            if (matrix.pattern(g, secret) == Wordle.ALL_GREEN) return g;
+        }
+        return -1;
+    }
+
+    private static int solvableDepth(long entry) {
+        return (int) (entry >>> 8) & 0xFF;
+    }
+
+    private static int failedDepth(long entry) {
+        int failed = (int) entry & 0xFF;
+        return failed == 0xFF ? 0 : failed;
+    }
+
+    private static Long mergeBounds(Long a, Long b) {
+        long better = solvableDepth(b) < solvableDepth(a) ? b : a;
+        long failed = Math.max(failedDepth(a), failedDepth(b));
+        return (better & ~0xFFL) | (failed == 0 ? 0xFF : failed);
+    }
+
+    // A set of candidate indexes, compared by its bitset.
+    private static final class Subset {
+        private final long[] bits;
+        private final int hash;
+
+        Subset(int[] candidates, int count, int words) {
+            bits = new long[words];
+            for (int i = 0; i < count; i++) {
+                bits[candidates[i] >>> 6] |= 1L << candidates[i];
+            }
+            hash = Arrays.hashCode(bits);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Subset && Arrays.equals(bits, ((Subset) other).bits);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    // Proves how many guesses are needed in the worst case for a dictionary
+    // and prints an opening guess that achieves it.
+    public static void main(String[] args) {
+        int MAX_ATTEMPTS = 6;
+        String filename = args.length > 0 ? args[0] : "dictionary.txt";
+        PackedDictionary dict = PackedDictionary.load(filename);
+        MinimaxSolver solver = new MinimaxSolver(FeedbackMatrix.build(dict), MAX_ATTEMPTS);
+
+        int[] all = new int[dict.size()];
+        for (int i = 0; i < all.length; i++) all[i] = i;
+
+        long start = System.nanoTime();
+        int depth = solver.worstCase(all, all.length);
+        long elapsed = System.nanoTime() - start;
+
+        if (depth < 0) {
+            System.out.println("Some secrets of " + filename + " need more than " + MAX_ATTEMPTS + " guesses.");
+        } else {
+            System.out.println("Every secret of " + filename + " can be found within " + depth + " guesses,");
+            System.out.println("starting with " + dict.wordAt(solver.nextGuess(all, all.length)) + ".");
+        }
+        System.out.println("(" + solver.memoSize() + " subsets searched in " + (elapsed / 1_000_000) + " ms)");
+    }
+}
@@ -0,0 +1,182 @@
+import java.util.Arrays;
+
+/**
+ * A game of Wordle on several boards at once (Quordle with 4, Octordle with 8,
+ * up to 32 and beyond): every board has its own secret, and every guess is
+ * played on all boards that are not solved yet. A board is solved by guessing
+ * its secret and takes no more guesses after that; the game is won once every
+ * board is solved.
+ * <p>
+ * The secrets of the unsolved boards are kept in one FeedbackBatch, so a guess
+ * is scored against all of them in a single batched call. When a board is
+ * solved the batch is rebuilt without it, so solved boards cost nothing on
+ * later guesses.
+ */
+public final class MultiBoardGame {
+
+    public static final int WORD_LENGTH = GameEngine.WORD_LENGTH;
+
+    private final String[] secrets;
+    private final int maxAttempts;
+    // the guesses, shared by every board
+    private final char[][] guesses;
+    // [board][row]: the rows of a board stop at the guess that solved it
+    private final char[][][] results;
+    // attempt at which each board was solved (1-based), 0 while unsolved
+    private final int[] solvedAt;
+    private int attempt;
+    private int solved;
+
+    // the unsolved boards, and their secrets in the same order
+    private final int[] active;
+    private FeedbackBatch batch;
+    private final int[] patterns;
+
+    // A game on secrets.length boards with the usual number of attempts:
+    // one per board plus five.
+    public MultiBoardGame(String[] secrets) {
+        this(secrets, secrets.length + 5);
+    }
+
+    // Throws IllegalArgumentException if there are no secrets, a secret is not
+    // 5 letters A-Z, or maxAttempts is smaller than the number of boards.
+    public MultiBoardGame(String[] secrets, int maxAttempts) {
+        if (secrets.length == 0) throw new IllegalArgumentException("no boards");
+        if (maxAttempts < secrets.length) {
+            throw new IllegalArgumentException(maxAttempts + " attempts cannot solve " + secrets.length + " boards");
+        }
+        int[] packed = new int[secrets.length];
+        this.secrets = new String[secrets.length];
+        for (int b = 0; b < secrets.length; b++) {
+            packed[b] = PackedDictionary.tryPack(secrets[b] == null ? "" : secrets[b]);
+            if (packed[b] < 0) throw new IllegalArgumentException("secret must have " + WORD_LENGTH + " letters A-Z: " + secrets[b]);
+            this.secrets[b] = PackedDictionary.unpack(packed[b]);
+        }
+        this.maxAttempts = maxAttempts;
+        this.guesses = new char[maxAttempts][WORD_LENGTH];
+        this.results = new char[secrets.length][maxAttempts][WORD_LENGTH];
+        this.solvedAt = new int[secrets.length];
+        this.active = new int[secrets.length];
+        for (int b = 0; b < active.length; b++) active[b] = b;
+        this.batch = new FeedbackBatch(packed);
+        this.patterns = new int[secrets.length];
+    }
+
+    // Plays a guess on every unsolved board. Returns the base-3 pattern of
+    // every board (see Wordle.ALL_GREEN), or -1 for boards solved earlier.
+    // Throws IllegalArgumentException if the guess is not 5 letters A-Z, and
+    // IllegalStateException if the game is over.
+    public int[] submitGuess(String guess) {
+        if (isOver()) throw new IllegalStateException("game is over");
+        int packed = guess == null ? -1 : PackedDictionary.tryPack(guess);
+        if (packed < 0) throw new IllegalArgumentException("guess must have " + WORD_LENGTH + " letters A-Z");
+
+        int[] out = new int[secrets.length];
+        Arrays.fill(out, -1);
+        int count = batch.size();
+        batch.patterns(packed, patterns);
+        Wordle.storeGuess(PackedDictionary.unpack(packed), guesses, attempt);
+        attempt++;
+        boolean newlySolved = false;
+        for (int i = 0; i < count; i++) {
+            int board = active[i];
+            out[board] = patterns[i];
+            Wordle.patternToRow(patterns[i], results[board][attempt - 1]);
+            if (patterns[i] == Wordle.ALL_GREEN) {
+                solvedAt[board] = attempt;
+                solved++;
+                newlySolved = true;
+            }
+        }
+        if (newlySolved && solved < secrets.length) dropSolved();
+        return out;
+    }
+
+    public int boards() {
+        return secrets.length;
+    }
+
+    public int maxAttempts() {
+        return maxAttempts;
+    }
+
+    // Number of guesses played so far.
+    public int attempts() {
+        return attempt;
+    }
+
+    public boolean isSolved(int board) {
+        return solvedAt[board] != 0;
+    }
+
+    // The attempt (1-based) that solved the board, or 0 if it is not solved.
+    public int solvedAt(int board) {
+        return solvedAt[board];
+    }
+
+    // Number of boards solved so far.
+    public int solvedBoards() {
+        return solved;
+    }
+
+    // True once every board is solved.
+    public boolean isWon() {
+        return solved == secrets.length;
+    }
+
+    // True once every board is solved or all attempts are used.
+    public boolean isOver() {
+        return isWon() || attempt == maxAttempts;
+    }
+
+    // Number of rows on a board: the guesses played until it was solved.
+    public int rows(int board) {
+        return solvedAt[board] != 0 ? solvedAt[board] : attempt;
+    }
+
+    // The guess played at the given row (0-based).
+    public String guess(int row) {
+        if (row >= attempt) throw new IllegalArgumentException("no guess at row " + row);
+        return new String(guesses[row]);
+    }
+
+    // The feedback of a board at the given row (0-based), as G / Y / _ characters.
+    public String result(int board, int row) {
+        if (row >= rows(board)) throw new IllegalArgumentException("no row " + row + " on board " + board);
+        return new String(results[board][row]);
+    }
+
+    // The rows of a board as (guesses, results), for the single-board helpers
+    // (CandidateIndex.apply, HintService, ...). The arrays are shared.
+    public char[][] guesses() {
+        return guesses;
+    }
+
+    public char[][] results(int board) {
+        return results[board];
+    }
+
+    // The secret of a board, or null while the board is unsolved and the game
+    // is still running.
+    public String secret(int board) {
+        return isSolved(board) || isOver() ? secrets[board] : null;
+    }
+
+    // Prints one board the same way Wordle.printBoard does.
+    public void printBoard(int board) {
+        int rows = rows(board);
+        if (rows > 0) Wordle.printBoard(guesses, results[board], rows - 1);
+    }
+
+    // Rebuilds the batch over the boards that are still unsolved.
+    private void dropSolved() {
+        int[] packed = new int[secrets.length - solved];
+        int n = 0;
+        for (int b = 0; b < secrets.length; b++) {
+            if (solvedAt[b] != 0) continue;
+            active[n] = b;
+            packed[n++] = PackedDictionary.pack(secrets[b]);
+        }
+        batch = new FeedbackBatch(packed);
+    }
+}
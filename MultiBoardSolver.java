@@ -0,0 +1,136 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Picks guesses for a MultiBoardGame. A guess is scored by the information it
+ * is expected to reveal on all unsolved boards together: the sum, over the
+ * boards, of the entropy of the partition it makes of that board's
+ * candidates. Ties go to guesses that could solve the most boards. A board
+ * down to a single candidate is solved right away by guessing it.
+ * <p>
+ * Boards with the same candidates (at the start, every board) are scored once
+ * and weighted by how many they are, so the opening costs as much as on a
+ * single board. Guesses are scored in parallel on a ForkJoin pool within a
+ * time budget per call, by EntropySolver's weighted scoring.
+ */
+public final class MultiBoardSolver {
+
+    private final PackedDictionary dict;
+    private final PatternTable table;
+    private final CandidateIndex index;
+    private final ForkJoinPool pool;
+    private final long budgetNanos;
+
+    // A solver for games whose guesses and secrets are words of dict, with
+    // patterns read from table (dict against itself), on the common pool.
+    public MultiBoardSolver(PackedDictionary dict, PatternTable table, long budgetMillis) {
+        this(dict, table, ForkJoinPool.commonPool(), budgetMillis);
+    }
+
+    public MultiBoardSolver(PackedDictionary dict, PatternTable table, ForkJoinPool pool, long budgetMillis) {
+        if (budgetMillis <= 0) throw new IllegalArgumentException("time budget must be positive");
+        if (table.guessCount() != dict.size() || table.secretCount() != dict.size()) {
+            throw new IllegalArgumentException("table does not match the dictionary");
+        }
+        this.dict = dict;
+        this.table = table;
+        this.index = new CandidateIndex(dict);
+        this.pool = pool;
+        this.budgetNanos = budgetMillis * 1_000_000L;
+    }
+
+    // The next guess for a game in progress.
+    // Throws IllegalArgumentException if the game is over or a board has no
+    // candidate left (its secret is not in the dictionary).
+    public String nextGuess(MultiBoardGame game) {
+        if (game.isOver()) throw new IllegalArgumentException("game is over");
+        int[][] candidates = new int[game.boards() - game.solvedBoards()][];
+        long[][] sets = new long[candidates.length][];
+        int[] scratch = new int[dict.size()];
+        int n = 0;
+        for (int b = 0; b < game.boards(); b++) {
+            if (game.isSolved(b)) continue;
+            long[] set = index.all();
+            index.apply(set, game.guesses(), game.results(b), game.rows(b), false);
+            int count = CandidateIndex.toIndexes(set, scratch);
+            if (count == 0) throw new IllegalArgumentException("no word is consistent with board " + b);
+            sets[n] = set;
+            candidates[n++] = Arrays.copyOf(scratch, count);
+        }
+        return dict.wordAt(nextGuess(candidates, sets));
+    }
+
+    // The index of the next guess when candidates[b] are the secrets still
+    // possible on unsolved board b (sets[b] is the same as a bitset).
+    int nextGuess(int[][] candidates, long[][] sets) {
+        for (int[] board : candidates) {
+            if (board.length == 1) return board[0];
+        }
+
+        // boards with equal candidates are scored once, weighted
+        int[] first = new int[candidates.length];
+        int[] weights = new int[candidates.length];
+        int n = 0;
+        for (int b = 0; b < candidates.length; b++) {
+            int same = -1;
+            for (int g = 0; g < n && same < 0; g++) {
+                if (Arrays.equals(sets[b], sets[first[g]])) same = g;
+            }
+            if (same >= 0) {
+                weights[same]++;
+            } else {
+                first[n] = b;
+                weights[n++] = 1;
+            }
+        }
+        int[][] unique = new int[n][];
+        for (int g = 0; g < n; g++) unique[g] = candidates[first[g]];
+
+        long deadline = System.nanoTime() + budgetNanos;
+        int[] counts = new int[n];
+        for (int g = 0; g < n; g++) counts[g] = unique[g].length;
+        return EntropySolver.bestGuess(table, pool, unique, counts, weights, deadline, null);
+    }
+
+    // Plays games on the given number of boards (default 8) with random
+    // secrets and prints the attempts and the time per guess.
+    // Usage: java MultiBoardSolver [boards] [games] [dictionary]
+    public static void main(String[] args) {
+        int boards = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        String filename = args.length > 2 ? args[2] : "dictionary.txt";
+        PackedDictionary dict = PackedDictionary.load(filename);
+        MultiBoardSolver solver = new MultiBoardSolver(dict, FeedbackMatrix.build(dict), 200);
+        SecretSelector selector = new SecretSelector(words(dict), 1);
+
+        int won = 0;
+        long guesses = 0;
+        long worstNanos = 0;
+        long totalNanos = 0;
+        for (int game = 0; game < games; game++) {
+            String[] secrets = new String[boards];
+            for (int b = 0; b < boards; b++) secrets[b] = selector.nextFromDeck();
+            MultiBoardGame play = new MultiBoardGame(secrets);
+            while (!play.isOver()) {
+                long start = System.nanoTime();
+                String guess = solver.nextGuess(play);
+                long elapsed = System.nanoTime() - start;
+                totalNanos += elapsed;
+                worstNanos = Math.max(worstNanos, elapsed);
+                guesses++;
+                play.submitGuess(guess);
+            }
+            if (play.isWon()) won++;
+            System.out.println("Game " + (game + 1) + ": " + (play.isWon() ? "won in " + play.attempts() + " attempts"
+                               : "lost, " + play.solvedBoards() + " of " + boards + " boards solved"));
+        }
+        System.out.println(won + " of " + games + " won; " + (totalNanos / Math.max(1, guesses) / 1000)
+                           + " us per guess on average, " + (worstNanos / 1000) + " us at worst");
+    }
+
+    private static String[] words(PackedDictionary dict) {
+        String[] words = new String[dict.size()];
+        for (int i = 0; i < words.length; i++) words[i] = dict.wordAt(i);
+        return words;
+    }
+}
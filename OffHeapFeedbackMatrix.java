@@ -0,0 +1,217 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.IntStream;
+
+/**
+ * A FeedbackMatrix whose patterns live outside the Java heap, in direct or
+ * memory-mapped byte buffers. A 13k x 13k matrix is about 170 MB; kept here it
+ * costs the heap and the garbage collector nothing, and a matrix in a file is
+ * mapped read-only and used in place, without being copied in.
+ * <p>
+ * Rows are split over buffers of at most 1 GB, each holding a power-of-two
+ * number of whole rows, so a lookup is a shift, a mask and one absolute get.
+ * Files use the same layout as the FeedbackMatrix cache, so either class can
+ * read what the other wrote.
+ * <p>
+ * The memory is released by close(), not by the garbage collector. close() is
+ * not thread-safe with respect to readers: freed memory read by a lookup that
+ * is still running is a JVM crash, not an exception. Close a matrix only once
+ * every thread that reads it (solver pools included) has finished with it.
+ */
+public final class OffHeapFeedbackMatrix implements PatternTable, AutoCloseable {
+
+    private static final long CHUNK_BYTES = 1L << 30;
+    // rows computed by one fill task
+    private static final int FILL_ROWS = 64;
+
+    private final int guessCount;
+    private final int secretCount;
+    private final int rowShift;
+    private final int rowMask;
+    // volatile, so that lookups started after close() see no chunks (and
+    // throw) instead of a stale reference to freed memory
+    private volatile ByteBuffer[] chunks;
+
+    private OffHeapFeedbackMatrix(int guessCount, int secretCount, ByteBuffer[] chunks, int rowShift) {
+        this.guessCount = guessCount;
+        this.secretCount = secretCount;
+        this.chunks = chunks;
+        this.rowShift = rowShift;
+        this.rowMask = (1 << rowShift) - 1;
+    }
+
+    // Computes the matrix into direct (off-heap) memory, one row per task on
+    // the common ForkJoin pool.
+    public static OffHeapFeedbackMatrix build(PackedDictionary guesses, PackedDictionary secrets) {
+        int rows = guesses.size();
+        int cols = secrets.size();
+        int shift = rowShift(cols);
+        ByteBuffer[] chunks = new ByteBuffer[chunkCount(rows, shift)];
+        for (int c = 0; c < chunks.length; c++) {
+            chunks[c] = ByteBuffer.allocateDirect((int) chunkRows(rows, shift, c) * cols);
+        }
+        OffHeapFeedbackMatrix matrix = new OffHeapFeedbackMatrix(rows, cols, chunks, shift);
+        matrix.fill(guesses, secrets);
+        return matrix;
+    }
+
+    // Maps the matrix of the two dictionaries from cacheDir (see
+    // FeedbackMatrix.cacheFile), or computes it into that file first when no
+    // valid one exists.
+    // Throws IllegalArgumentException if the file cannot be written or mapped.
+    public static OffHeapFeedbackMatrix load(PackedDictionary guesses, PackedDictionary secrets, String cacheDir) {
+        Path file = FeedbackMatrix.cacheFile(guesses, secrets, cacheDir);
+        OffHeapFeedbackMatrix matrix = open(file, guesses, secrets);
+        if (matrix != null) return matrix;
+        create(file, guesses, secrets);
+        matrix = open(file, guesses, secrets);
+        if (matrix == null) throw new IllegalArgumentException("Could not map " + file);
+        return matrix;
+    }
+
+    // Maps a matrix file read-only, without copying it. Returns null if the
+    // file is missing or does not belong to these dictionaries.
+    public static OffHeapFeedbackMatrix open(Path file, PackedDictionary guesses, PackedDictionary secrets) {
+        if (!Files.isRegularFile(file)) return null;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            int rows = guesses.size();
+            int cols = secrets.size();
+            long size = channel.size();
+            if (size != FeedbackMatrix.HEADER_BYTES + (long) rows * cols) return null;
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, FeedbackMatrix.HEADER_BYTES);
+            if (header.getInt() != FeedbackMatrix.MAGIC || header.getInt() != rows || header.getInt() != cols) return null;
+            if (header.getLong() != guesses.hash() || header.getLong() != secrets.hash()) return null;
+            Buffers.free(header);
+
+            int shift = rowShift(cols);
+            ByteBuffer[] chunks = new ByteBuffer[chunkCount(rows, shift)];
+            for (int c = 0; c < chunks.length; c++) {
+                long offset = FeedbackMatrix.HEADER_BYTES + ((long) c << shift) * cols;
+                chunks[c] = channel.map(FileChannel.MapMode.READ_ONLY, offset, chunkRows(rows, shift, c) * cols);
+            }
+            return new OffHeapFeedbackMatrix(rows, cols, chunks, shift);
+        }
+        catch (IOException ioe) {
+            return null;
+        }
+    }
+
+    // Computes the matrix straight into a mapped temporary file and moves it
+    // to file, so that a concurrent reader never sees a half-written matrix.
+    // Throws IllegalArgumentException if the file cannot be written.
+    public static void create(Path file, PackedDictionary guesses, PackedDictionary secrets) {
+        int rows = guesses.size();
+        int cols = secrets.size();
+        int shift = rowShift(cols);
+        Path tmp = null;
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            tmp = Files.createTempFile(dir, "feedback-", ".tmp");
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, FeedbackMatrix.HEADER_BYTES);
+                header.putInt(FeedbackMatrix.MAGIC).putInt(rows).putInt(cols).putLong(guesses.hash()).putLong(secrets.hash());
+                header.force();
+                ByteBuffer[] chunks = new ByteBuffer[chunkCount(rows, shift)];
+                for (int c = 0; c < chunks.length; c++) {
+                    long offset = FeedbackMatrix.HEADER_BYTES + ((long) c << shift) * cols;
+                    chunks[c] = channel.map(FileChannel.MapMode.READ_WRITE, offset, chunkRows(rows, shift, c) * cols);
+                }
+                OffHeapFeedbackMatrix matrix = new OffHeapFeedbackMatrix(rows, cols, chunks, shift);
+                matrix.fill(guesses, secrets);
+                for (ByteBuffer chunk : chunks) ((MappedByteBuffer) chunk).force();
+                matrix.close();
+                Buffers.free(header);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException ioe) {
+            throw new IllegalArgumentException("Could not write " + file, ioe);
+        }
+        finally {
+            try {
+                if (tmp != null) Files.deleteIfExists(tmp);
+            }
+            catch (IOException ioe) {
+                // nothing left to clean up but a temporary file
+            }
+        }
+    }
+
+    @Override
+    public int guessCount() {
+        return guessCount;
+    }
+
+    @Override
+    public int secretCount() {
+        return secretCount;
+    }
+
+    @Override
+    public int pattern(int guess, int secret) {
+        return chunks[guess >>> rowShift].get((guess & rowMask) * secretCount + secret) & 0xFF;
+    }
+
+    @Override
+    public int filter(int guess, int pattern, int[] candidates, int count) {
+        ByteBuffer chunk = chunks[guess >>> rowShift];
+        int base = (guess & rowMask) * secretCount;
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            int secret = candidates[i];
+            if ((chunk.get(base + secret) & 0xFF) == pattern) {
+                candidates[kept++] = secret;
+            }
+        }
+        return kept;
+    }
+
+    // Releases the memory (or the mapping) right away. Calling close again
+    // does nothing. No other thread may be reading the matrix (see above).
+    @Override
+    public void close() {
+        ByteBuffer[] released = chunks;
+        chunks = new ByteBuffer[0];
+        for (ByteBuffer chunk : released) Buffers.free(chunk);
+    }
+
+    // Fills every row with one FeedbackBatch pass, FILL_ROWS rows per task
+    // sharing one row buffer.
+    private void fill(PackedDictionary guesses, PackedDictionary secrets) {
+        FeedbackBatch batch = new FeedbackBatch(secrets);
+        ByteBuffer[] chunks = this.chunks;
+        int tasks = (guessCount + FILL_ROWS - 1) / FILL_ROWS;
+        IntStream.range(0, tasks).parallel().forEach(t -> {
+            byte[] row = new byte[secretCount];
+            int end = Math.min(guessCount, (t + 1) * FILL_ROWS);
+            for (int g = t * FILL_ROWS; g < end; g++) {
+                batch.patterns(guesses.word(g), row, 0);
+                ByteBuffer chunk = chunks[g >>> rowShift].duplicate();
+                chunk.position((g & rowMask) * secretCount);
+                chunk.put(row);
+            }
+        });
+    }
+
+    // log2 of the rows per chunk: as many whole rows as fit in CHUNK_BYTES,
+    // rounded down to a power of two.
+    private static int rowShift(int cols) {
+        long rows = Math.max(1, CHUNK_BYTES / Math.max(1, cols));
+        return 63 - Long.numberOfLeadingZeros(rows);
+    }
+
+    private static int chunkCount(int rows, int shift) {
+        return (int) (((long) rows + (1L << shift) - 1) >>> shift);
+    }
+
+    private static long chunkRows(int rows, int shift, int chunk) {
+        return Math.min(1L << shift, rows - ((long) chunk << shift));
+    }
+}
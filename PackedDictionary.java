@@ -0,0 +1,235 @@
+import java.io.File;
+
+/**
+ * A dictionary of 5-letter words, each packed into a single {@code int}.
+ * Letter i of a word is stored in bits 5*i .. 5*i+4 as (letter - 'A'), so a
+ * whole word takes 25 bits and two words are equal exactly when their ints are.
+ * Next to every word we keep a 26-bit mask with bit (letter - 'A') set for each
+ * letter the word contains, which turns "does the secret contain c" into one AND,
+ * and a letter-count vector (see letterCounts) for duplicate-aware feedback.
+ * <p>
+ * Packing is case-insensitive: lowercase letters are stored as uppercase.
+ */
+public final class PackedDictionary {
+
+    public static final int WORD_LENGTH = 5;
+
+    // bits used by one letter inside a packed word
+    public static final int LETTER_BITS = 5;
+    public static final int LETTER_MASK = (1 << LETTER_BITS) - 1;
+
+    private final int[] words;
+    private final int[] masks;
+    // two longs per word: letterCounts(word, 0) and letterCounts(word, 1)
+    private final long[] counts;
+    // word -> index table for indexOf, built on first use
+    private volatile int[] lookup;
+    private static final int NO_WORD = -1;
+
+    // Builds a dictionary from already packed words. The array is not copied.
+    public PackedDictionary(int[] words) {
+        this.words = words;
+        this.masks = new int[words.length];
+        this.counts = new long[2 * words.length];
+        for (int i = 0; i < words.length; i++) {
+            masks[i] = letterMask(words[i]);
+            counts[2 * i] = letterCounts(words[i], 0);
+            counts[2 * i + 1] = letterCounts(words[i], 1);
+        }
+    }
+
+    // Wraps words with their already computed masks and counts (as laid out
+    // by DictionaryCompiler). The arrays are not copied.
+    PackedDictionary(int[] words, int[] masks, long[] counts) {
+        this.words = words;
+        this.masks = masks;
+        this.counts = counts;
+    }
+
+    // Reads the dictionary file (see Wordle.readDictionary) and packs its words.
+    // A fresh compiled dictionary (see DictionaryCompiler) is used as is; other
+    // local files are packed straight from their bytes by DictionaryReader.
+    public static PackedDictionary load(String filename) {
+        DictionaryCompiler.Compiled compiled = DictionaryCompiler.loadIfFresh(filename);
+        if (compiled != null) {
+            return compiled.dictionary();
+        }
+        if (new File(filename).isFile()) {
+            return DictionaryReader.readPacked(filename);
+        }
+        return fromWords(Wordle.readDictionary(filename));
+    }
+
+    // Packs every non-empty word of dict.
+    public static PackedDictionary fromWords(String[] dict) {
+        int[] packed = new int[dict.length];
+        int n = 0;
+        for (String word : dict) {
+            if (word.length() == 0) continue;
+            packed[n++] = pack(word);
+        }
+        if (n < packed.length) {
+            int[] trimmed = new int[n];
+            System.arraycopy(packed, 0, trimmed, 0, n);
+            packed = trimmed;
+        }
+        return new PackedDictionary(packed);
+    }
+
+    public int size() {
+        return words.length;
+    }
+
+    // Returns the packed word at index i.
+    public int word(int i) {
+        return words[i];
+    }
+
+    // Returns the letter-presence mask of the word at index i.
+    public int mask(int i) {
+        return masks[i];
+    }
+
+    // Returns half (0 for A-P, 1 for Q-Z) of the letter-count vector of the
+    // word at index i.
+    public long counts(int i, int half) {
+        return counts[2 * i + half];
+    }
+
+    // Returns the word at index i as an uppercase String.
+    public String wordAt(int i) {
+        return unpack(words[i]);
+    }
+
+    // Returns the index of the given packed word (its first one, if the word
+    // appears twice), or -1 if it is not in the dictionary. One hash probe
+    // sequence; the table is built on the first call.
+    public int indexOf(int packed) {
+        int[] table = lookup;
+        if (table == null) {
+            // racing threads build equal tables; any of them may win
+            table = buildLookup(words);
+            lookup = table;
+        }
+        int mask = (table.length >>> 1) - 1;
+        for (int slot = mix(packed) & mask; ; slot = (slot + 1) & mask) {
+            int key = table[2 * slot];
+            if (key == packed) return table[2 * slot + 1];
+            if (key == NO_WORD) return -1;
+        }
+    }
+
+    // Open-addressing table of (packed word, index) pairs at most half full;
+    // free slots hold NO_WORD, which no packed word equals.
+    private static int[] buildLookup(int[] words) {
+        int slots = Integer.highestOneBit(Math.max(1, words.length) * 2 - 1) * 2;
+        int[] table = new int[2 * slots];
+        for (int s = 0; s < slots; s++) table[2 * s] = NO_WORD;
+        int mask = slots - 1;
+        for (int i = 0; i < words.length; i++) {
+            int slot = mix(words[i]) & mask;
+            while (table[2 * slot] != NO_WORD && table[2 * slot] != words[i]) slot = (slot + 1) & mask;
+            if (table[2 * slot] == NO_WORD) {
+                table[2 * slot] = words[i];
+                table[2 * slot + 1] = i;
+            }
+        }
+        return table;
+    }
+
+    // A multiplicative hash of a packed word, spread over all 32 bits.
+    private static int mix(int word) {
+        int h = word * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    // 64-bit FNV-1a hash of the packed words, in order. Used to key on-disk
+    // caches that are derived from this dictionary.
+    public long hash() {
+        long h = 0xcbf29ce484222325L;
+        for (int word : words) {
+            for (int b = 0; b < 4; b++) {
+                h ^= (word >>> (8 * b)) & 0xFF;
+                h *= 0x100000001b3L;
+            }
+        }
+        return h;
+    }
+
+    // Feedback pattern of guess against the secret at secretIndex,
+    // using the cached letter mask of the secret.
+    public int feedback(int secretIndex, int guess) {
+        return Wordle.computeFeedback(words[secretIndex], masks[secretIndex], guess);
+    }
+
+    // Duplicate-aware feedback pattern of guess against the secret at
+    // secretIndex, using the cached letter counts of the secret.
+    public int feedbackStrict(int secretIndex, int guess) {
+        return Wordle.computeFeedbackStrict(words[secretIndex], counts[2 * secretIndex], counts[2 * secretIndex + 1], guess);
+    }
+
+    // Packs a 5-letter word into an int.
+    // Throws IllegalArgumentException if word is not 5 letters A-Z (any case).
+    public static int pack(CharSequence word) {
+        int packed = tryPack(word);
+        if (packed < 0) {
+            throw new IllegalArgumentException("not a " + WORD_LENGTH + "-letter word: \"" + word + "\"");
+        }
+        return packed;
+    }
+
+    // Same as pack, but returns -1 instead of throwing (packed words are
+    // never negative).
+    public static int tryPack(CharSequence word) {
+        if (word.length() != WORD_LENGTH) return -1;
+        int packed = 0;
+        for (int i = 0; i < WORD_LENGTH; i++) {
+            int letter = letterIndex(word.charAt(i));
+            if (letter < 0) return -1;
+            packed |= letter << (LETTER_BITS * i);
+        }
+        return packed;
+    }
+
+    // Turns a packed word back into an uppercase String.
+    public static String unpack(int packed) {
+        char[] letters = new char[WORD_LENGTH];
+        for (int i = 0; i < WORD_LENGTH; i++) {
+            letters[i] = (char) ('A' + letterAt(packed, i));
+        }
+        return new String(letters);
+    }
+
+    // Returns letter i of a packed word as 0 ('A') .. 25 ('Z').
+    public static int letterAt(int packed, int i) {
+        return (packed >>> (LETTER_BITS * i)) & LETTER_MASK;
+    }
+
+    // Returns the 26-bit letter-presence mask of a packed word.
+    public static int letterMask(int packed) {
+        int mask = 0;
+        for (int i = 0; i < WORD_LENGTH; i++) {
+            mask |= 1 << letterAt(packed, i);
+        }
+        return mask;
+    }
+
+    // Returns one half of the letter-count vector of a packed word: how many
+    // times each letter occurs, 4 bits per letter. Half 0 holds A-P (A in the
+    // lowest bits), half 1 holds Q-Z.
+    public static long letterCounts(int packed, int half) {
+        long counts = 0;
+        for (int i = 0; i < WORD_LENGTH; i++) {
+            int letter = letterAt(packed, i);
+            if ((letter >>> 4) == half) counts += 1L << (4 * (letter & 15));
+        }
+        return counts;
+    }
+
+    // Maps 'A'..'Z' and 'a'..'z' to 0..25, anything else to -1.
+    static int letterIndex(char c) {
+        if (c >= 'A' && c <= 'Z') return c - 'A';
+        if (c >= 'a' && c <= 'z') return c - 'a';
+        return -1;
+    }
+}
@@ -0,0 +1,28 @@
+/**
+ * The feedback pattern of every (guess, secret) pair of two dictionaries, by
+ * index (see Wordle.ALL_GREEN for the base-3 encoding). This is what the
+ * solvers read in their hot loops; FeedbackMatrix keeps the patterns on the
+ * heap, OffHeapFeedbackMatrix outside it.
+ */
+public interface PatternTable {
+
+    int guessCount();
+
+    int secretCount();
+
+    // Feedback pattern of the guess at index guess against the secret at index secret.
+    int pattern(int guess, int secret);
+
+    // Keeps only the candidates (secret indexes) that would give the given pattern
+    // for the guess, moving them to the front of candidates. Returns how many remain.
+    default int filter(int guess, int pattern, int[] candidates, int count) {
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            int secret = candidates[i];
+            if (pattern(guess, secret) == pattern) {
+                candidates[kept++] = secret;
+            }
+        }
+        return kept;
+    }
+}
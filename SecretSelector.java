@@ -0,0 +1,195 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Chooses secret words for many concurrent games without a shared random
+ * generator. Every thread draws from its own SplittableRandom, split off a
+ * root generator with a fixed seed, so there is no contention and a run with
+ * the same seed and threads is reproducible; stream(id) gives a generator of
+ * its own to a session or tournament round that must be replayable on its own.
+ * <p>
+ * Words can have weights (for example word frequencies), sampled in O(1) with
+ * Vose's alias table. nextFromDeck deals words like a shuffled deck instead:
+ * no word comes again before every word has been dealt, then a new shuffle
+ * starts. The deck is a seeded pseudo-random permutation computed per ticket,
+ * so dealing costs one atomic increment and stores nothing per round.
+ * <p>
+ * A selector is immutable apart from its random streams and deck counter, and
+ * can be shared between threads.
+ */
+public final class SecretSelector {
+
+    private final String[] words;
+    private final long seed;
+    // alias table; null when every word has the same weight
+    private final double[] probability;
+    private final int[] alias;
+
+    private final SplittableRandom root;
+    private final ThreadLocal<SplittableRandom> random;
+    private final AtomicLong tickets = new AtomicLong();
+
+    // Chooses uniformly among words.
+    public SecretSelector(String[] words, long seed) {
+        this(words, null, seed);
+    }
+
+    // Chooses words[i] with probability weights[i] / (sum of weights), or
+    // uniformly if weights is null.
+    // Throws IllegalArgumentException if there are no words, a weight is
+    // negative or not finite, or all weights are 0.
+    public SecretSelector(String[] words, double[] weights, long seed) {
+        if (words.length == 0) throw new IllegalArgumentException("no words to choose from");
+        this.words = words.clone();
+        this.seed = seed;
+        if (weights == null) {
+            probability = null;
+            alias = null;
+        } else {
+            if (weights.length != words.length) {
+                throw new IllegalArgumentException(weights.length + " weights for " + words.length + " words");
+            }
+            probability = new double[words.length];
+            alias = new int[words.length];
+            buildAliasTable(weights, probability, alias);
+        }
+        this.root = new SplittableRandom(seed);
+        this.random = ThreadLocal.withInitial(this::split);
+    }
+
+    // Reads words from a dictionary file with an optional weight column: every
+    // line is "WORD" or "WORD weight". Words without a weight get weight 1; if
+    // no line has a weight, the selector is uniform.
+    public static SecretSelector fromFile(String filename, long seed) {
+        In in = new In(filename);
+        String[] lines = in.readAllLines();
+        in.close();
+        String[] words = new String[lines.length];
+        double[] weights = new double[lines.length];
+        boolean weighted = false;
+        int n = 0;
+        for (String line : lines) {
+            String[] fields = line.trim().split("\\s+");
+            if (fields[0].isEmpty()) continue;
+            words[n] = fields[0];
+            weights[n] = 1;
+            if (fields.length > 1) {
+                weights[n] = Double.parseDouble(fields[1]);
+                weighted = true;
+            }
+            n++;
+        }
+        return new SecretSelector(Arrays.copyOf(words, n), weighted ? Arrays.copyOf(weights, n) : null, seed);
+    }
+
+    public int size() {
+        return words.length;
+    }
+
+    // A word drawn from the calling thread's stream.
+    public String next() {
+        return next(random.get());
+    }
+
+    // A word drawn from the given generator.
+    public String next(SplittableRandom random) {
+        int i = random.nextInt(words.length);
+        if (probability != null && random.nextDouble() >= probability[i]) i = alias[i];
+        return words[i];
+    }
+
+    // A generator that depends only on the selector's seed and id, for draws
+    // that must be reproducible independently of threads (one per session,
+    // per tournament round, ...).
+    public SplittableRandom stream(long id) {
+        return new SplittableRandom(mix(seed ^ mix(id)));
+    }
+
+    // The next card of the shuffled deck. Every word is dealt once per round
+    // (weights are ignored here); each round is shuffled differently.
+    public String nextFromDeck() {
+        long ticket = tickets.getAndIncrement();
+        long round = ticket / words.length;
+        int position = (int) (ticket % words.length);
+        return words[permute(position, words.length, mix(seed + round))];
+    }
+
+    // Splits a new thread's generator off the root. split() is not thread-safe,
+    // and the order of splits is what makes runs reproducible.
+    private synchronized SplittableRandom split() {
+        return root.split();
+    }
+
+    // Vose's alias method: after scaling the weights to a mean of 1, every
+    // column i is topped up from one "large" word alias[i], so a draw is one
+    // uniform column and one biased coin.
+    private static void buildAliasTable(double[] weights, double[] probability, int[] alias) {
+        int n = weights.length;
+        double total = 0;
+        for (double w : weights) {
+            if (!(w >= 0) || Double.isInfinite(w)) throw new IllegalArgumentException("invalid weight: " + w);
+            total += w;
+        }
+        if (total <= 0) throw new IllegalArgumentException("all weights are 0");
+
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0, largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / total;
+            if (scaled[i] < 1) small[smallCount++] = i;
+            else               large[largeCount++] = i;
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int s = small[--smallCount];
+            int l = large[--largeCount];
+            probability[s] = scaled[s];
+            alias[s] = l;
+            scaled[l] = scaled[l] + scaled[s] - 1;
+            if (scaled[l] < 1) small[smallCount++] = l;
+            else               large[largeCount++] = l;
+        }
+        // what is left is 1 up to rounding
+        while (largeCount > 0) {
+            int l = large[--largeCount];
+            probability[l] = 1;
+            alias[l] = l;
+        }
+        while (smallCount > 0) {
+            int s = small[--smallCount];
+            probability[s] = 1;
+            alias[s] = s;
+        }
+    }
+
+    // A pseudo-random permutation of 0 .. n-1 chosen by key: a 4-round Feistel
+    // network on the smallest even number of bits that covers n, applied again
+    // while the result is out of range (cycle walking, fewer than 4 steps on
+    // average).
+    static int permute(int index, int n, long key) {
+        int halfBits = 1;
+        while (1L << (2 * halfBits) < n) halfBits++;
+        int halfMask = (1 << halfBits) - 1;
+        int value = index;
+        do {
+            int left = value >>> halfBits;
+            int right = value & halfMask;
+            for (int round = 0; round < 4; round++) {
+                int next = left ^ ((int) mix(key + round * 0x9E3779B97F4A7C15L + right) & halfMask);
+                left = right;
+                right = next;
+            }
+            value = (left << halfBits) | right;
+        } while (value >= n);
+        return value;
+    }
+
+    // SplitMix64's finalizer.
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
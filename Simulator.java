@@ -0,0 +1,125 @@
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * Plays every secret of a dictionary against one or more strategies and
+ * reports how many guesses each strategy needed. Games are independent, so
+ * they run in parallel on the common ForkJoin pool, one task per secret.
+ */
+public final class Simulator {
+
+    private final PatternTable matrix;
+    private final int maxAttempts;
+
+    public Simulator(PatternTable matrix, int maxAttempts) {
+        this.matrix = matrix;
+        this.maxAttempts = maxAttempts;
+    }
+
+    // The outcome of playing all secrets with one strategy.
+    public static final class Result {
+        private final String name;
+        private final int[] histogram;   // [a] = games won in a guesses, [0] = games lost
+        private final long millis;
+
+        private Result(String name, int[] histogram, long millis) {
+            this.name = name;
+            this.histogram = histogram;
+            this.millis = millis;
+        }
+
+        public int games() {
+            int games = 0;
+            for (int count : histogram) games += count;
+            return games;
+        }
+
+        // Number of games won in exactly the given number of guesses.
+        public int wonIn(int attempts) {
+            return histogram[attempts];
+        }
+
+        public int lost() {
+            return histogram[0];
+        }
+
+        // Mean number of guesses over the games that were won.
+        public double meanAttempts() {
+            long total = 0;
+            int won = 0;
+            for (int a = 1; a < histogram.length; a++) {
+                total += (long) a * histogram[a];
+                won += histogram[a];
+            }
+            return won == 0 ? 0 : (double) total / won;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(name).append(": ").append(games()).append(" games in ").append(millis).append(" ms, mean ")
+              .append(String.format("%.4f", meanAttempts())).append(" guesses, ").append(lost()).append(" lost\n");
+            for (int a = 1; a < histogram.length; a++) {
+                sb.append("  ").append(a).append(": ").append(histogram[a]);
+            }
+            return sb.toString();
+        }
+    }
+
+    // Plays every secret with each strategy. Strategies must be safe to call
+    // from several threads at once.
+    public Result[] run(Strategy... strategies) {
+        Result[] results = new Result[strategies.length];
+        for (int i = 0; i < strategies.length; i++) {
+            results[i] = run(strategies[i]);
+        }
+        return results;
+    }
+
+    public Result run(Strategy strategy) {
+        long start = System.nanoTime();
+        int secrets = matrix.secretCount();
+        int[] all = new int[secrets];
+        for (int i = 0; i < secrets; i++) all[i] = i;
+
+        // every game starts from the same candidates, so ask for the opening once
+        int opening = strategy.nextGuess(all.clone(), secrets);
+
+        AtomicIntegerArray histogram = new AtomicIntegerArray(maxAttempts + 1);
+        IntStream.range(0, secrets).parallel().forEach(secret -> {
+            histogram.incrementAndGet(play(strategy, opening, all, secret));
+        });
+
+        int[] counts = new int[maxAttempts + 1];
+        for (int a = 0; a <= maxAttempts; a++) counts[a] = histogram.get(a);
+        return new Result(strategy.getClass().getSimpleName(), counts, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Plays one game and returns the number of guesses it took, or 0 if lost.
+    private int play(Strategy strategy, int opening, int[] all, int secret) {
+        int[] candidates = all.clone();
+        int count = candidates.length;
+        int guess = opening;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            int pattern = matrix.pattern(guess, secret);
+            if (Wordle.isAllGreen(pattern)) return attempt;
+            count = matrix.filter(guess, pattern, candidates, count);
+            if (attempt < maxAttempts) guess = strategy.nextGuess(candidates, count);
+        }
+        return 0;
+    }
+
+    // Plays dictionary.txt with the entropy and minimax solvers.
+    public static void main(String[] args) {
+        int MAX_ATTEMPTS = 6;
+        String filename = args.length > 0 ? args[0] : "dictionary.txt";
+        PackedDictionary dict = PackedDictionary.load(filename);
+        FeedbackMatrix matrix = FeedbackMatrix.build(dict);
+
+        Simulator simulator = new Simulator(matrix, MAX_ATTEMPTS);
+        Result[] results = simulator.run(new EntropySolver(matrix, 1000), new MinimaxSolver(matrix, MAX_ATTEMPTS));
+        for (Result result : results) {
+            System.out.println(result);
+        }
+    }
+}
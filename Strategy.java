@@ -0,0 +1,13 @@
+/**
+ * A bot that picks the next guess of a game.
+ * <p>
+ * Words are referred to by index: candidates are indexes of the secrets that
+ * are still consistent with all feedback so far, and the returned value is an
+ * index into the list of allowed guesses (see FeedbackMatrix).
+ */
+public interface Strategy {
+
+    // Returns the index of the guess to play when the first count entries of
+    // candidates are the secrets still possible. count is at least 1.
+    int nextGuess(int[] candidates, int count);
+}
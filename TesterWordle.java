@@ -22,6 +22,19 @@ public class TesterWordle {
                 case "storeGuess": testStoreGuess(); break;
                 case "printBoard": testPrintBoard(); break;
                 case "isAllGreen": testIsAllGreen(); break;
+                case "packedFeedback": testPackedFeedback(); break;
+                case "gameEngine": testGameEngine(); break;
+                case "candidateIndex": testCandidateIndex(); break;
+                case "wordValidator": testWordValidator(); break;
+                case "dictionaryCompiler": testDictionaryCompiler(); break;
+                case "gameState": testGameState(); break;
+                case "offHeapMatrix": testOffHeapMatrix(); break;
+                case "secretSelector": testSecretSelector(); break;
+                case "hintService": testHintService(); break;
+                case "adversarialGame": testAdversarialGame(); break;
+                case "multiBoard": testMultiBoard(); break;
+                case "gameJournal": testGameJournal(); break;
+                case "dictionaryManager": testDictionaryManager(); break;
                 
                 // Robust Game Flow tests
                 case "testGameWinRobust": testGameWinRobust(); break;
@@ -40,6 +53,19 @@ public class TesterWordle {
         testStoreGuess();
         testPrintBoard();
         testIsAllGreen();
+        testPackedFeedback();
+        testGameEngine();
+        testCandidateIndex();
+        testWordValidator();
+        testDictionaryCompiler();
+        testGameState();
+        testOffHeapMatrix();
+        testSecretSelector();
+        testHintService();
+        testAdversarialGame();
+        testMultiBoard();
+        testGameJournal();
+        testDictionaryManager();
     }
 
     // --- Unit Tests ---
@@ -204,6 +230,587 @@ public class TesterWordle {
         if (!failed) System.out.println("Passed 2/2 tests (Passed)");
     }
 
+    public static void testPackedFeedback() {
+        System.out.println("Testing packed computeFeedback:");
+        try {
+            PackedDictionary dict = PackedDictionary.load("dictionary.txt");
+            char[] expected = new char[5];
+            char[] actual = new char[5];
+            for (int s = 0; s < dict.size(); s++) {
+                for (int g = 0; g < dict.size(); g++) {
+                    String secret = dict.wordAt(s);
+                    String guess = dict.wordAt(g);
+                    Wordle.computeFeedback(secret, guess, expected);
+                    int pattern = Wordle.computeFeedback(dict.word(s), dict.word(g));
+                    Wordle.patternToRow(pattern, actual);
+                    if (!new String(expected).equals(new String(actual)) || pattern != dict.feedback(s, dict.word(g))) {
+                        System.out.println("Failed: Secret='" + secret + "', Guess='" + guess + "'.");
+                        System.out.println("Expected: " + new String(expected));
+                        System.out.println("Actual:   " + new String(actual));
+                        return;
+                    }
+                    if (Wordle.isAllGreen(pattern) != (s == g)) {
+                        System.out.println("Failed: isAllGreen(" + pattern + ") for Secret='" + secret + "', Guess='" + guess + "'.");
+                        return;
+                    }
+                }
+            }
+            FeedbackBatch batch = new FeedbackBatch(dict);
+            int[] batched = new int[dict.size()];
+            int[] scalar = new int[dict.size()];
+            for (int g = 0; g < dict.size(); g++) {
+                batch.patterns(dict.word(g), batched);
+                batch.patternsScalar(dict.word(g), scalar);
+                if (!java.util.Arrays.equals(batched, scalar)) {
+                    System.out.println("Failed: Batched feedback differs from scalar for Guess='" + dict.wordAt(g) + "'.");
+                    return;
+                }
+            }
+
+            for (int i = 0; i < dict.size(); i++) {
+                int first = dict.indexOf(dict.word(i));
+                if (first < 0 || first > i || dict.word(first) != dict.word(i)) {
+                    System.out.println("Failed: indexOf('" + dict.wordAt(i) + "') returned " + first);
+                    return;
+                }
+            }
+            if (dict.indexOf(PackedDictionary.pack("ZZZZZ")) != -1) {
+                System.out.println("Failed: indexOf found a word that is not in the dictionary");
+                return;
+            }
+
+            // the String[] batch agrees with the scalar feedback on the file's own
+            // strings, lowercase entries included
+            String[] original = Wordle.readDictionary("dictionary.txt");
+            int[] fromBatch = new int[original.length];
+            for (String guess : new String[] {"RANGE", "range", "APPLE", original[0]}) {
+                Wordle.computeFeedback(guess, original, fromBatch);
+                for (int i = 0; i < original.length; i++) {
+                    Wordle.computeFeedback(original[i], guess, expected);
+                    if (fromBatch[i] != CandidateIndex.pattern(expected)) {
+                        System.out.println("Failed: Batched feedback of Guess='" + guess + "' against Secret='" + original[i] + "' differs from scalar.");
+                        return;
+                    }
+                }
+            }
+
+            // the cached batch follows changes to the secrets array
+            String[] secrets = {"APPLE", "HELLO"};
+            int[] patterns = new int[2];
+            Wordle.computeFeedback("APPLE", secrets, patterns);
+            secrets[1] = "APPLE";
+            Wordle.computeFeedback("APPLE", secrets, patterns);
+            if (patterns[0] != Wordle.ALL_GREEN || patterns[1] != Wordle.ALL_GREEN) {
+                System.out.println("Failed: Batched feedback did not see a changed secret");
+                return;
+            }
+
+            Wordle.computeFeedbackStrict("APPLE", "PAPAL", actual);
+            if (!new String(actual).equals("YYG_Y")) {
+                System.out.println("Failed: Strict feedback for Secret='APPLE', Guess='PAPAL' was " + new String(actual) + ", expected YYG_Y");
+                return;
+            }
+            System.out.println("Passed: Packed feedback matches for all dictionary pairs (Passed)");
+        } catch (Exception e) { System.out.println("Failed: Exception: " + e.getMessage()); }
+    }
+
+    public static void testGameEngine() {
+        System.out.println("Testing GameEngine:");
+        try {
+            GameEngine game = new GameEngine();
+            game.startGame("APPLE");
+            String first = new String(game.submitGuess("HELPS"));
+            GameEngine.Snapshot before = game.snapshot();
+            game.submitGuess("APPLE");
+            GameEngine.Snapshot after = game.snapshot();
+
+            boolean failed = false;
+            if (!first.equals("_YYY_")) { System.out.println("Failed: Feedback for 'HELPS' was " + first + ", expected _YYY_"); failed = true; }
+            if (before.attempts() != 1 || before.isOver() || before.secret() != null) { System.out.println("Failed: Snapshot after one guess is wrong."); failed = true; }
+            if (!after.isWon() || !after.isOver() || after.attempts() != 2) { System.out.println("Failed: Game not won after guessing 'APPLE'."); failed = true; }
+            if (!"APPLE".equals(after.secret()) || !after.guess(0).equals("HELPS")) { System.out.println("Failed: Snapshot boards are wrong."); failed = true; }
+
+            if (!failed) System.out.println("Passed: Headless game flow correct (Passed)");
+        } catch (Exception e) { System.out.println("Failed: Exception: " + e.getMessage()); }
+    }
+
+    public static void testCandidateIndex() {
+        System.out.println("Testing CandidateIndex:");
+        try {
+            PackedDictionary dict = PackedDictionary.load("dictionary.txt");
+            CandidateIndex index = new CandidateIndex(dict);
+            long[] set = index.all();
+            for (int g = 0; g < dict.size(); g += 7) {
+                for (int s = 0; s < dict.size(); s += 5) {
+                    int pattern = dict.feedback(s, dict.word(g));
+                    index.fill(set);
+                    index.apply(set, dict.word(g), pattern, false);
+                    if (!sameCandidates(dict, set, g, s, pattern, false)) return;
+
+                    int strict = dict.feedbackStrict(s, dict.word(g));
+                    index.fill(set);
+                    index.apply(set, dict.word(g), strict, true);
+                    if (!sameCandidates(dict, set, g, s, strict, true)) return;
+                }
+            }
+            System.out.println("Passed: Index filtering matches computeFeedback (Passed)");
+        } catch (Exception e) { System.out.println("Failed: Exception: " + e.getMessage()); }
+    }
+
+    public static void testWordValidator() {
+        System.out.println("Testing WordValidator:");
+        try {
+            PackedDictionary dict = PackedDictionary.load("dictionary.txt");
+            WordValidator validator = new WordValidator(dict);
+            for (int i = 0; i < dict.size(); i++) {
+                if (!validator.isValidWord(dict.wordAt(i))) { System.out.println("Failed: '" + dict.wordAt(i) + "' rejected."); return; }
+            }
+            String[] invalid = {"HELPS", "ZZZZZ", "APPL", "APPLES", "APP1E", ""};
+            for (String word : invalid) {
+                if (validator.isValidWord(word)) { System.out.println("Failed: '" + word + "' accepted."); return; }
+            }
+            if (!validator.isValidWord("apple")) { System.out.println("Failed: 'apple' rejected (lookups are case-insensitive)."); return; }
+            System.out.println("Passed: Validator accepts exactly the dictionary words (Passed)");
+        } catch (Exception e) { System.out.println("Failed: Exception: " + e.getMessage()); }
+    }
+
+    public static void testDictionaryCompiler() {
+        System.out.println("Testing DictionaryCompiler:");
+        File text = null;
+        try {
+            text = File.createTempFile("dictionary", ".txt");
+            try (FileWriter writer = new FileWriter(text)) { writer.write("APPLE\nrange\nHELLO\n"); }
+            DictionaryCompiler.compile(text.getPath());
+            String[] words = Wordle.readDictionary(text.getPath());
+            DictionaryCompiler.Compiled compiled = DictionaryCompiler.loadIfFresh(text.getPath());
+
+            boolean failed = false;
+            if (compiled == null) { System.out.println("Failed: Fresh compiled dictionary was not loaded."); failed = true; }
+            else if (!compiled.validator().isValidWord("RANGE") || compiled.dictionary().size() != 3) { System.out.println("Failed: Compiled indexes are wrong."); failed = true; }
+            if (!java.util.Arrays.equals(words, new String[] {"APPLE", "range", "HELLO"})) { System.out.println("Failed: Compiled words are " + java.util.Arrays.toString(words)); failed = true; }
+
+            try (FileWriter writer = new FileWriter(text, true)) { writer.write("WORLD\n"); }
+            if (DictionaryCompiler.loadIfFresh(text.getPath()) != null) { System.out.println("Failed: Stale compiled dictionary was loaded."); failed = true; }
+            if (Wordle.readDictionary(text.getPath()).length != 4) { System.out.println("Failed: No fallback to the edited text."); failed = true; }
+
+            // a file that grows while it is read gives whole results or IllegalArgumentException
+            DictionaryCompiler.compiledFile(text.getPath()).toFile().delete();
+            StringBuilder batch = new StringBuilder();
+            for (int i = 0; i < 2000; i++) batch.append("CRANE\n");
+            try (FileWriter writer = new FileWriter(text)) { for (int i = 0; i < 10; i++) writer.write(batch.toString()); }
+            final File growing = text;
+            final String lines = batch.toString();
+            Thread appender = new Thread(() -> {
+                try (FileWriter writer = new FileWriter(growing, true)) {
+                    for (int i = 0; i < 200; i++) { writer.write(lines); writer.flush(); }
+                } catch (java.io.IOException ioe) { }
+            });
+            appender.start();
+            while (appender.isAlive() && !failed) {
+                try {
+                    for (String word : Wordle.readDictionary(text.getPath())) {
+                        if (word == null) { System.out.println("Failed: A growing file was read with missing words."); failed = true; break; }
+                    }
+                } catch (IllegalArgumentException e) {
+                    // the edit was noticed
+                }
+            }
+            appender.join();
+
+            if (!failed) System.out.println("Passed: Compiled dictionary loads and goes stale with its text (Passed)");
+        } catch (Exception e) { System.out.println("Failed: Exception: " + e.getMessage()); }
+        finally {
+            if (text != null) {
+                DictionaryCompiler.compiledFile(text.getPath()).toFile().delete();
+                text.delete();
+            }
+        }
+    }
+
+    public static void testGameState() {
+        System.out.println("Testing GameState:");
+        try {
+            String secret = "APPLE";
+            String[] played = {"HELPS", "ZEBRA", "APPLE"};
+            char[][] guesses = new char[6][5];
+            char[][] results = new char[6][5];
+            GameStateStore store = new GameStateStore(1000);
+            GameState state = new GameState();
+            for (int row = 0; row < played.length; row++) {
+                Wordle.storeGuess(played[row], guesses, row);
+                Wordle.computeFeedback(secret, played[row], results[row]);
+                int pattern = Wordle.computeFeedback(PackedDictionary.pack(secret), PackedDictionary.pack(played[row]));
+                state.storeGuess(PackedDictionary.pack(played[row]), pattern);
+                store.storeGuess(999, PackedDictionary.pack(played[row]), pattern);
+            }
+            char[][] decodedGuesses = new char[6][5];
+            char[][] decodedResults = new char[6][5];
+            store.toBoards(999, decodedGuesses, decodedResults);
+
+            boolean failed = false;
+            if (state.attempts() != 3 || !state.isWon() || !state.isOver()) { System.out.println("Failed: Attempts or won flag are wrong."); failed = true; }
+            if (store.attempts(999) != 3 || !store.isWon(999) || store.attempts(0) != 0 || store.isOver(0)) { System.out.println("Failed: Store sessions are wrong."); failed = true; }
+            for (int row = 0; row < played.length; row++) {
+                if (!new String(decodedGuesses[row]).equals(new String(guesses[row])) || !new String(decodedResults[row]).equals(new String(results[row]))) {
+                    System.out.println("Failed: Row " + row + " decoded as " + new String(decodedGuesses[row]) + " " + new String(decodedResults[row]));
+                    failed = true;
+                }
+            }
+            try {
+                state.storeGuess(PackedDictionary.pack("HELLO"), 0);
+                System.out.println("Failed: Guess accepted after the game was won.");
+                failed = true;
+            } catch (IllegalStateException expected) { }
+
+            if (!failed) System.out.println("Passed: Encoded game state matches the boards (Passed)");
+        } catch (Exception e) { System.out.println("Failed: Exception: " + e.getMessage()); }
+    }
+
+    public static void testOffHeapMatrix() {
+        System.out.println("Testing OffHeapFeedbackMatrix and LazyFeedbackTable:");
+        File dir = null;
+        try {
+            PackedDictionary dict = PackedDictionary.load("dictionary.txt");
+            FeedbackMatrix heap = FeedbackMatrix.build(dict);
+            dir = java.nio.file.Files.createTempDirectory("matrix").toFile();
+            try (OffHeapFeedbackMatrix direct = OffHeapFeedbackMatrix.build(dict, dict);
+                 OffHeapFeedbackMatrix mapped = OffHeapFeedbackMatrix.load(dict, dict, dir.getPath())) {
+                FeedbackMatrix reread = FeedbackMatrix.load(dict, dir.getPath());
+                LazyFeedbackTable lazy = new LazyFeedbackTable(dict, dict, 16);
+                for (int g = 0; g < dict.size(); g++) {
+                    for (int s = 0; s < dict.size(); s++) {
+                        int expected = heap.pattern(g, s);
+                        if (direct.pattern(g, s) != expected || mapped.pattern(g, s) != expected || reread.pattern(g, s) != expected
+                            || lazy.pattern(g, s) != expected) {
+                            System.out.println("Failed: Pattern of '" + dict.wordAt(g) + "' against '" + dict.wordAt(s) + "' differs.");
+                            return;
+                        }
+                    }
+                }
+                // one row read per pattern: the first of every row misses, the rest hit
+                long reads = (long) dict.size() * dict.size();
+                if (lazy.misses() != dict.size() || lazy.hits() != reads - dict.size() || lazy.evictions() != dict.size() - 16
+                    || !lazy.toString().startsWith(lazy.hits() + " hits, ")) {
+                    System.out.println("Failed: Lazy table counters are wrong: " + lazy);
+                    return;
+                }
+            }
+            System.out.println("Passed: Off-heap, mapped and lazy tables match the heap matrix (Passed)");
+        } catch (Exception e) { System.out.println("Failed: Exception: " + e.getMessage()); }
+        finally {
+            if (dir != null) {
+                File[] files = dir.listFiles();
+                if (files != null) for (File f : files) f.delete();
+                dir.delete();
+            }
+        }
+    }
+
+    public static void testSecretSelector() {
+        System.out.println("Testing SecretSelector:");
+        try {
+            String[] words = {"APPLE", "HELLO", "WORLD", "CRANE", "SLATE"};
+            boolean failed = false;
+
+            SecretSelector deck = new SecretSelector(words, 42);
+            for (int round = 0; round < 3; round++) {
+                java.util.HashSet<String> dealt = new java.util.HashSet<String>();
+                for (int i = 0; i < words.length; i++) dealt.add(deck.nextFromDeck());
+                if (dealt.size() != words.length) { System.out.println("Failed: Deck round " + round + " repeated a word: " + dealt); failed = true; }
+            }
+
+            SecretSelector weighted = new SecretSelector(words, new double[] {1, 0, 3, 0, 0}, 7);
+            java.util.SplittableRandom stream = weighted.stream(5);
+            int apple = 0;
+            for (int i = 0; i < 4000; i++) {
+                String word = weighted.next(stream);
+                if (word.equals("APPLE")) apple++;
+                else if (!word.equals("WORLD")) { System.out.println("Failed: Drew zero-weight word " + word); failed = true; break; }
+            }
+            if (apple < 800 || apple > 1200) { System.out.println("Failed: APPLE drawn " + apple + " times of 4000, expected about 1000"); failed = true; }
+
+            java.util.SplittableRandom a = new SecretSelector(words, 1).stream(9);
+            java.util.SplittableRandom b = new SecretSelector(words, 1).stream(9);
+            for (int i = 0; i < 20; i++) {
+                if (!weighted.next(a).equals(weighted.next(b))) { System.out.println("Failed: Streams with the same seed and id differ."); failed = true; break; }
+            }
+
+            if (!failed) System.out.println("Passed: Deck, weighted and seeded selection correct (Passed)");
+        } catch (Exception e) { System.out.println("Failed: Exception: " + e.getMessage()); }
+    }
+
+    public static void testHintService() {
+        System.out.println("Testing HintService:");
+        try {
+            PackedDictionary dict = PackedDictionary.load("dictionary.txt");
+            FeedbackMatrix matrix = FeedbackMatrix.build(dict);
+            GameEngine game = new GameEngine();
+            game.startGame("APPLE");
+            game.submitGuess("ANGRY");
+
+            int expected = 0;
+            char[] row = new char[5];
+            for (int i = 0; i < dict.size(); i++) {
+                Wordle.computeFeedback(dict.wordAt(i), "ANGRY", row);
+                if (new String(row).equals("G____")) expected++;
+            }
+
+            boolean failed = false;
+            HintService unlimited = new HintService(dict, matrix, 1_000_000);
+            HintService.Hint hint = game.hint(unlimited);
+            if (hint.candidates() != expected) { System.out.println("Failed: " + hint.candidates() + " candidates, expected " + expected); failed = true; }
+            if (hint.confidence() != 1.0 || unlimited.deadlineHits() != 0) { System.out.println("Failed: Unlimited hint was cut short: " + hint); failed = true; }
+
+            HintService none = new HintService(dict, matrix, 0);
+            HintService.Hint rushed = game.hint(none);
+            if (rushed.confidence() >= 1.0 || none.deadlineHits() != 1 || rushed.entropy() > hint.entropy() + 1e-9) { System.out.println("Failed: Zero-budget hint was not cut short: " + rushed); failed = true; }
+
+            // a search far longer than the budget (3000 words, 256 resident rows)
+            // is cut short every time, row misses included; its latency is
+            // measured by WordleBench, not here
+            java.util.SplittableRandom random = new java.util.SplittableRandom(5);
+            int[] words = new int[3000];
+            for (int i = 0; i < words.length; i++) {
+                for (int j = 0; j < 5; j++) words[i] |= random.nextInt(26) << (5 * j);
+            }
+            PackedDictionary large = new PackedDictionary(words);
+            HintService timed = new HintService(large, new LazyFeedbackTable(large, large, 256), 1000);
+            char[][] board = new char[6][5];
+            for (int t = 0; t < 5 && !failed; t++) {
+                HintService.Hint cut = timed.hint(board, board, 0);
+                if (cut.confidence() >= 1.0 || timed.deadlineHits() != t + 1) { System.out.println("Failed: A 1 ms hint over 3000 words was not cut short: " + cut); failed = true; }
+            }
+
+            if (!failed) System.out.println("Passed: Hints filter candidates and respect the deadline (Passed)");
+        } catch (Exception e) { System.out.println("Failed: Exception: " + e.getMessage()); }
+    }
+
+    public static void testAdversarialGame() {
+        System.out.println("Testing AdversarialGame:");
+        try {
+            PackedDictionary dict = PackedDictionary.load("dictionary.txt");
+            AdversarialGame computed = new AdversarialGame(dict);
+            AdversarialGame tabled = new AdversarialGame(dict, new CandidateIndex(dict), FeedbackMatrix.build(dict));
+            String[] guesses = {"CRANE", "SLOTH", "DUMPY", "WIGHT", "FABLE", "VOUCH"};
+
+            boolean failed = false;
+            int[] parts = new int[EntropySolver.PATTERNS];
+            int[] left = new int[dict.size()];
+            for (int turn = 0; turn < guesses.length && !failed && !computed.isOver(); turn++) {
+                // the largest part of the candidates, by brute force
+                int count = computed.candidates(left);
+                int largest = 0;
+                int guess = PackedDictionary.pack(guesses[turn]);
+                for (int i = 0; i < count; i++) largest = Math.max(largest, ++parts[dict.feedback(left[i], guess)]);
+                java.util.Arrays.fill(parts, 0);
+
+                String result = new String(computed.submitGuess(guesses[turn]));
+                String other = new String(tabled.submitGuess(guesses[turn]));
+                if (!result.equals(other)) { System.out.println("Failed: Table gave " + other + ", computed gave " + result); failed = true; }
+                if (computed.candidates() != largest) { System.out.println("Failed: " + guesses[turn] + " kept " + computed.candidates() + " candidates, expected " + largest); failed = true; }
+                count = computed.candidates(left);
+                for (int i = 0; i < count && !failed; i++) {
+                    char[] row = new char[5];
+                    Wordle.computeFeedback(dict.wordAt(left[i]), guesses[turn], row);
+                    if (!new String(row).equals(result)) { System.out.println("Failed: Candidate " + dict.wordAt(left[i]) + " does not give " + result); failed = true; }
+                }
+            }
+            if (!failed && (!computed.isOver() && computed.secret() != null)) { System.out.println("Failed: Secret revealed while running"); failed = true; }
+
+            // once a single word is left, guessing it wins
+            AdversarialGame game = new AdversarialGame(dict);
+            while (!game.isOver() && game.candidates() > 1) game.submitGuess(guesses[game.attempts()]);
+            if (!game.isOver()) {
+                game.candidates(left);
+                game.submitGuess(dict.wordAt(left[0]));
+                if (!game.isWon() || !dict.wordAt(left[0]).equals(game.secret())) { System.out.println("Failed: Guessing the last candidate did not win"); failed = true; }
+            } else if (game.secret() == null) { System.out.println("Failed: Secret not revealed at the end"); failed = true; }
+
+            if (!failed) System.out.println("Passed: The adversary keeps the largest consistent part (Passed)");
+        } catch (Exception e) { System.out.println("Failed: Exception: " + e.getMessage()); }
+    }
+
+    public static void testMultiBoard() {
+        System.out.println("Testing MultiBoardGame:");
+        try {
+            boolean failed = false;
+            String[] secrets = {"APPLE", "HELLO", "CRANE", "APPLE"};
+            MultiBoardGame game = new MultiBoardGame(secrets);
+            String[] guesses = {"PLANE", "APPLE", "HELLO"};
+            for (String guess : guesses) {
+                boolean[] solvedBefore = new boolean[secrets.length];
+                for (int b = 0; b < secrets.length; b++) solvedBefore[b] = game.isSolved(b);
+                int[] patterns = game.submitGuess(guess);
+                for (int b = 0; b < secrets.length && !failed; b++) {
+                    char[] row = new char[5];
+                    Wordle.computeFeedback(secrets[b], guess, row);
+                    if (solvedBefore[b] ? patterns[b] != -1 : patterns[b] != CandidateIndex.pattern(row)) {
+                        System.out.println("Failed: Board " + b + " gave pattern " + patterns[b] + " for " + guess); failed = true;
+                    }
+                }
+            }
+            if (!failed && (game.solvedBoards() != 3 || game.solvedAt(0) != 2 || game.solvedAt(3) != 2 || game.solvedAt(1) != 3)) {
+                System.out.println("Failed: Solved boards are wrong"); failed = true;
+            }
+            if (!failed && (game.rows(0) != 2 || game.rows(2) != 3 || !game.result(0, 1).equals("GGGGG") || game.secret(2) != null)) {
+                System.out.println("Failed: Board rows are wrong"); failed = true;
+            }
+
+            // the solver clears 8 boards of the dictionary in the usual 13 attempts
+            PackedDictionary dict = PackedDictionary.load("dictionary.txt");
+            MultiBoardSolver solver = new MultiBoardSolver(dict, FeedbackMatrix.build(dict), 1000);
+            String[] eight = new String[8];
+            for (int b = 0; b < eight.length; b++) eight[b] = dict.wordAt(b * 31 % dict.size());
+            MultiBoardGame octordle = new MultiBoardGame(eight);
+            while (!octordle.isOver()) octordle.submitGuess(solver.nextGuess(octordle));
+            if (!octordle.isWon()) { System.out.println("Failed: Solver solved " + octordle.solvedBoards() + " of 8 boards"); failed = true; }
+
+            if (!failed) System.out.println("Passed: Boards share guesses and the solver clears them (Passed)");
+        } catch (Exception e) { System.out.println("Failed: Exception: " + e.getMessage()); }
+    }
+
+    public static void testGameJournal() {
+        System.out.println("Testing GameJournal:");
+        java.nio.file.Path dir = null;
+        try {
+            dir = java.nio.file.Files.createTempDirectory("journal");
+            int apple = PackedDictionary.pack("APPLE");
+            int crane = PackedDictionary.pack("CRANE");
+            int miss = Wordle.computeFeedback(apple, PackedDictionary.letterMask(apple), crane);
+
+            // 4 records per segment, so the games roll over several files
+            GameJournal journal = new GameJournal(dir, 4, 5);
+            journal.append(1, 1, crane, miss);
+            journal.append(1, 2, apple, Wordle.ALL_GREEN);           // session 1 won in 2
+            for (int a = 1; a <= 6; a++) journal.append(2, a, crane, miss);   // session 2 lost
+            journal.append(3, 1, crane, miss);
+            journal.append(3, 3, crane, miss);                       // skipped: attempt 2 is missing
+            long last = journal.append(3, 1, crane, miss);           // session 3 abandons its game
+            journal.awaitDurable(last);
+            journal.close();
+            // reopening appends after the last record; stray files are not segments
+            java.nio.file.Files.write(dir.resolve("journal-old.wj"), new byte[] {1, 2, 3});
+            journal = new GameJournal(dir, 4, 5);
+            if (journal.size() != 11) System.out.println("Failed: Reopened journal has " + journal.size() + " records");
+            last = journal.append(3, 2, apple, Wordle.ALL_GREEN);
+            journal.close();
+
+            boolean failed = false;
+            journal.awaitDurable(last);   // closing forced it: returns at once
+            try {
+                journal.awaitDurable(last + 1);
+                System.out.println("Failed: Waiting for a record never appended did not throw"); failed = true;
+            } catch (IllegalArgumentException expected) { }
+            JournalReplay replay = JournalReplay.replay(dir);
+            if (replay.records() != 12 || replay.sessions() != 3 || replay.skipped() != 1) { System.out.println("Failed: " + replay); failed = true; }
+            if (replay.games() != 4 || replay.won() != 2 || replay.lost() != 1 || replay.abandoned() != 1 || replay.wonIn(2) != 2) { System.out.println("Failed: " + replay); failed = true; }
+            char[][] guesses = new char[6][5];
+            char[][] results = new char[6][5];
+            int rows = replay.toBoards(1, guesses, results);
+            if (rows != 2 || !new String(guesses[1]).equals("APPLE") || !new String(results[1]).equals("GGGGG") || !new String(results[0]).equals("__Y_G")) {
+                System.out.println("Failed: Session 1 board is " + new String(guesses[0]) + " " + new String(results[0])); failed = true;
+            }
+            if (GameJournal.segments(dir).size() != 3) { System.out.println("Failed: " + GameJournal.segments(dir).size() + " segments, expected 3"); failed = true; }
+
+            if (!failed) System.out.println("Passed: Journal records roll over segments and replay into boards (Passed)");
+        } catch (Exception e) { System.out.println("Failed: Exception: " + e.getMessage()); }
+        finally {
+            try {
+                if (dir != null) for (java.nio.file.Path file : GameJournal.segments(dir)) java.nio.file.Files.delete(file);
+                if (dir != null) java.nio.file.Files.deleteIfExists(dir.resolve("journal-old.wj"));
+                if (dir != null) java.nio.file.Files.delete(dir);
+            } catch (java.io.IOException ioe) { }
+        }
+    }
+
+    public static void testDictionaryManager() {
+        System.out.println("Testing DictionaryManager:");
+        File file = new File("test_manager_dict.txt");
+        try {
+            boolean failed = false;
+            try (FileWriter writer = new FileWriter(file)) { writer.write("APPLE\nHELLO\n"); }
+            DictionaryManager manager = new DictionaryManager(file.toPath(), 11);
+            DictionaryManager.Snapshot first = manager.current();
+
+            // the same seed draws the same secrets
+            DictionaryManager twin = new DictionaryManager(new String[] {"APPLE", "HELLO"}, 11);
+            for (int i = 0; i < 20; i++) {
+                if (!first.secrets().next().equals(twin.current().secrets().next())) { System.out.println("Failed: Managers with the same seed drew different secrets"); failed = true; break; }
+            }
+
+            try (FileWriter writer = new FileWriter(file)) { writer.write("APPLE\nHELLO\nCRANE\n"); }
+            DictionaryManager.Snapshot second = manager.reload();
+            if (second.version() != 2 || second.size() != 3 || manager.current() != second) { System.out.println("Failed: Reload did not publish the new words"); failed = true; }
+            if (first.size() != 2 || first.validator().isValidWord("CRANE") || !second.validator().isValidWord("CRANE")) {
+                System.out.println("Failed: Snapshots are not independent"); failed = true;
+            }
+
+            try (FileWriter writer = new FileWriter(file)) { writer.write("APPLE\nTOOLONG\n"); }
+            if (manager.reload() != second || manager.failures() != 1) { System.out.println("Failed: A bad file replaced the dictionary"); failed = true; }
+
+            // the watcher picks up an edit by itself
+            manager.watch();
+            try (FileWriter writer = new FileWriter(file)) { writer.write("APPLE\nHELLO\nCRANE\nGHOST\n"); }
+            long deadline = System.currentTimeMillis() + 15000;
+            while (manager.current().size() != 4 && System.currentTimeMillis() < deadline) Thread.sleep(50);
+            if (manager.current().size() != 4) { System.out.println("Failed: The watcher did not reload the edited file"); failed = true; }
+
+            // reloads racing an editor that appends keep the last good snapshot,
+            // and the watcher outlives them
+            Thread appender = new Thread(() -> {
+                try (FileWriter writer = new FileWriter(file, true)) {
+                    StringBuilder batch = new StringBuilder();
+                    for (int w = 0; w < 3000; w++) {
+                        for (int k = 0, n = w; k < 5; k++, n /= 26) batch.append((char) ('A' + n % 26));
+                        batch.append('\n');
+                        if (w % 100 == 99) {
+                            // half a word at a time, as a slow editor would save it
+                            for (int from = 0; from < batch.length(); from += 3) {
+                                writer.write(batch.substring(from, Math.min(batch.length(), from + 3)));
+                                writer.flush();
+                                if (from % 150 == 0) Thread.sleep(1);
+                            }
+                            batch.setLength(0);
+                        }
+                    }
+                } catch (java.io.IOException | InterruptedException e) { }
+            });
+            appender.start();
+            while (appender.isAlive()) {
+                if (manager.reload() == null) { System.out.println("Failed: A reload during an append returned nothing"); failed = true; break; }
+            }
+            appender.join();
+            deadline = System.currentTimeMillis() + 15000;
+            while (manager.current().size() != 3004 && System.currentTimeMillis() < deadline) Thread.sleep(50);
+            if (manager.current().size() != 3004) { System.out.println("Failed: The appended file was not reloaded (" + manager.current().size() + " words)"); failed = true; }
+            manager.close();
+
+            // nobody holds the first snapshot any more, so it can be collected
+            java.lang.ref.WeakReference<DictionaryManager.Snapshot> old = new java.lang.ref.WeakReference<DictionaryManager.Snapshot>(first);
+            first = null;
+            second = null;
+            for (int i = 0; i < 20 && old.get() != null; i++) { System.gc(); Thread.sleep(10); }
+            if (old.get() != null) { System.out.println("Failed: An old snapshot was not reclaimed"); failed = true; }
+
+            if (!failed) System.out.println("Passed: Dictionary reloads swap whole snapshots (Passed)");
+        } catch (Exception e) { System.out.println("Failed: Exception: " + e.getMessage()); }
+        finally { file.delete(); }
+    }
+
+    private static boolean sameCandidates(PackedDictionary dict, long[] set, int g, int s, int pattern, boolean strict) {
+        for (int c = 0; c < dict.size(); c++) {
+            int feedback = strict ? dict.feedbackStrict(c, dict.word(g)) : dict.feedback(c, dict.word(g));
+            boolean expected = feedback == pattern;
+            boolean actual = (set[c >>> 6] & (1L << c)) != 0;
+            if (expected != actual) {
+                System.out.println("Failed: Guess='" + dict.wordAt(g) + "', Secret='" + dict.wordAt(s) + "'" + (strict ? " (strict)" : "")
+                                   + ": candidate '" + dict.wordAt(c) + "' " + (expected ? "missing" : "kept"));
+                return false;
+            }
+        }
+        return true;
+    }
+
     // --- Robust Game Tests ---
 
     public static void testGameWinRobust() {
@@ -0,0 +1,142 @@
+import java.util.Arrays;
+
+/**
+ * Answers "is this a word of the dictionary" in constant time without
+ * allocating. The packed words are stored in a table addressed by a minimal
+ * perfect hash built with hash-and-displace: every word is first hashed to a
+ * small bucket, and each bucket gets a seed for a second hash that sends all
+ * of its words to distinct free slots. A lookup is therefore one pack, two
+ * hashes and a single comparison against the table.
+ * <p>
+ * Lookups are case-insensitive, like PackedDictionary.pack. The validator is
+ * read-only after construction and can be shared between threads.
+ */
+public final class WordValidator {
+
+    // average number of words per bucket
+    private static final int BUCKET_SIZE = 4;
+    // seeds tried for one bucket before the table is made larger
+    private static final int MAX_SEED = 1 << 16;
+
+    private final int[] seeds;
+    private final int[] table;
+
+    // Builds the validator over every word of dict (duplicates are fine).
+    public WordValidator(PackedDictionary dict) {
+        int[] keys = new int[dict.size()];
+        for (int i = 0; i < keys.length; i++) keys[i] = dict.word(i);
+        Arrays.sort(keys);
+        int n = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (n == 0 || keys[i] != keys[n - 1]) keys[n++] = keys[i];
+        }
+        keys = Arrays.copyOf(keys, n);
+
+        int buckets = Math.max(1, (n + BUCKET_SIZE - 1) / BUCKET_SIZE);
+        int slots = Math.max(1, n);
+        int[][] built;
+        // A table with exactly n slots almost always works; if some bucket
+        // finds no seed, retry with a little slack.
+        while ((built = build(keys, buckets, slots)) == null) {
+            slots += slots / 16 + 1;
+        }
+        seeds = built[0];
+        table = built[1];
+    }
+
+    // Wraps an already built table (as stored by DictionaryCompiler).
+    WordValidator(int[] seeds, int[] table) {
+        this.seeds = seeds;
+        this.table = table;
+    }
+
+    int[] seeds() {
+        return seeds;
+    }
+
+    int[] table() {
+        return table;
+    }
+
+    // Number of slots in the table (equal to the number of distinct words
+    // when the hash is minimal).
+    public int tableSize() {
+        return table.length;
+    }
+
+    // Returns true if word is a 5-letter word of the dictionary.
+    public boolean isValidWord(CharSequence word) {
+        int packed = PackedDictionary.tryPack(word);
+        return packed >= 0 && contains(packed);
+    }
+
+    // Returns true if the packed word is in the dictionary.
+    public boolean contains(int packed) {
+        int seed = seeds[index(hash(packed, 0), seeds.length)];
+        return table[index(hash(packed, seed), table.length)] == packed;
+    }
+
+    // Returns {seeds, table}, or null if some bucket could not be placed.
+    private static int[][] build(int[] keys, int bucketCount, int slotCount) {
+        int[] bucketOf = new int[keys.length];
+        int[] sizes = new int[bucketCount];
+        for (int i = 0; i < keys.length; i++) {
+            bucketOf[i] = index(hash(keys[i], 0), bucketCount);
+            sizes[bucketOf[i]]++;
+        }
+        // keys grouped by bucket: bucket b holds members[start[b] .. start[b+1]-1]
+        int[] start = new int[bucketCount + 1];
+        for (int b = 0; b < bucketCount; b++) start[b + 1] = start[b] + sizes[b];
+        int[] members = new int[keys.length];
+        int[] fill = Arrays.copyOf(start, bucketCount);
+        for (int i = 0; i < keys.length; i++) members[fill[bucketOf[i]]++] = keys[i];
+
+        // place the largest buckets first, while the table is still empty
+        Integer[] order = new Integer[bucketCount];
+        for (int b = 0; b < bucketCount; b++) order[b] = b;
+        Arrays.sort(order, (a, b) -> sizes[b] - sizes[a]);
+
+        int[] seeds = new int[bucketCount];
+        int[] table = new int[slotCount];
+        Arrays.fill(table, -1);
+        int[] placed = new int[BUCKET_SIZE * 8];
+        for (int b : order) {
+            int size = sizes[b];
+            if (size == 0) continue;
+            if (placed.length < size) placed = new int[size];
+            boolean done = false;
+            for (int seed = 1; seed < MAX_SEED && !done; seed++) {
+                int k = 0;
+                for (; k < size; k++) {
+                    int slot = index(hash(members[start[b] + k], seed), slotCount);
+                    if (table[slot] != -1) break;
+                    table[slot] = members[start[b] + k];
+                    placed[k] = slot;
+                }
+                if (k == size) {
+                    seeds[b] = seed;
+                    done = true;
+                } else {
+                    for (int j = 0; j < k; j++) table[placed[j]] = -1;
+                }
+            }
+            if (!done) return null;
+        }
+        return new int[][] { seeds, table };
+    }
+
+    // A 32-bit mix of the key and seed (a lowbias32-style finalizer).
+    private static int hash(int key, int seed) {
+        int h = key * 0x9E3779B9 + seed * 0x85EBCA6B;
+        h ^= h >>> 16;
+        h *= 0x7FEB352D;
+        h ^= h >>> 15;
+        h *= 0x846CA68B;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static int index(int hash, int length) {
+        return (int) ((hash & 0xFFFFFFFFL) % length);
+    }
+}
@@ -1,7 +1,27 @@
+import java.io.File;
+
 public class Wordle {
 
+    // Pattern returned by the packed computeFeedback when every letter is G.
+    // Patterns are base-3 numbers: digit i (weight 3^i) is 2 for G, 1 for Y, 0 for _.
+    public static final int ALL_GREEN = 242;
+
     // Reads all words from dictionary filename into a String array.
     public static String[] readDictionary(String filename) {
+        // A compiled copy (see DictionaryCompiler) loads without any parsing,
+        // as long as the text has not changed since it was compiled.
+        DictionaryCompiler.Compiled compiled = DictionaryCompiler.loadIfFresh(filename);
+        if (compiled != null) {
+            return compiled.words();
+        }
+
+        // A file on the local file system is memory mapped and scanned directly,
+        // without building one big String first (see DictionaryReader).
+        if (new File(filename).isFile()) {
+            return DictionaryReader.readWords(filename);
+        }
+
+        // Anything else (a classpath resource or a URL) goes through In.
         In in = new In(filename); 
 
         // The In class provides readAll() to read the entire text of the file as one
@@ -32,9 +52,32 @@ public class Wordle {
 
     }
 
+    // Same as above, when the letterMask of secret is already known.
+    // For letters the mask alone answers; other characters fall back to a scan.
+    public static boolean containsChar(String secret, long secretMask, char c) {
+        if (PackedDictionary.letterIndex(c) >= 0) return ((secretMask >>> c) & 1) != 0;   // the shift uses c & 63
+        return secretMask < 0 && secret.indexOf(c) >= 0;
+    }
+
+    // Returns a mask with bit (c & 63) set for every letter c of word:
+    // 'A'..'Z' get bits 1..26 and 'a'..'z' bits 33..58. Bit 63 (the sign)
+    // is set if word has any other character.
+    public static long letterMask(CharSequence word) {
+        long mask = 0;
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            mask |= PackedDictionary.letterIndex(c) >= 0 ? 1L << c : Long.MIN_VALUE;
+        }
+        return mask;
+    }
+
     // Compute feedback for a single guess into resultRow.
     // G for exact match, Y if letter appears anywhere else, _ otherwise.
     public static void computeFeedback(String secret, String guess, char[] resultRow) {
+        // One pass over the secret builds its letter mask, so each Y check
+        // below is a single AND instead of another scan of the secret.
+        long secretMask = letterMask(secret);
+
         // The length of the secret and guess should be 5 (WORD_LENGTH)
         for (int i = 0; i < secret.length(); i++) {
             char guessedChar = guess.charAt(i);
@@ -45,7 +88,7 @@ public class Wordle {
             }
             // 2. Check for Yellow ('Y'): Correct letter in wrong position [cite: 1474]
             // else if the letter appears anywhere in the secret word [cite: 1528]
-            else if (containsChar(secret, guessedChar)) {
+            else if (containsChar(secret, secretMask, guessedChar)) {
                 resultRow[i] = 'Y';
             }
             // 3. Check for Gray ('_'): Letter not in the word at all [cite: 1475, 1503]
@@ -55,6 +98,156 @@ public class Wordle {
         }
     }
 
+    // Duplicate-aware feedback (standard Wordle rules) into resultRow: a letter
+    // gets Y only as many times as it is still unmatched in the secret after
+    // the G positions, and _ after that. Both words must be 5 letters A-Z
+    // (any case, compared case-insensitively).
+    public static void computeFeedbackStrict(String secret, String guess, char[] resultRow) {
+        int packedSecret = PackedDictionary.pack(secret);
+        patternToRow(computeFeedbackStrict(packedSecret, PackedDictionary.letterCounts(packedSecret, 0),
+                                           PackedDictionary.letterCounts(packedSecret, 1), PackedDictionary.pack(guess)),
+                     resultRow);
+    }
+
+    // Compute feedback for packed words (see PackedDictionary.pack) and return
+    // it as a single base-3 pattern between 0 and ALL_GREEN.
+    public static int computeFeedback(int secret, int guess) {
+        return computeFeedback(secret, PackedDictionary.letterMask(secret), guess);
+    }
+
+    // Same as above, when the letter mask of the secret is already known
+    // (PackedDictionary keeps one per word).
+    public static int computeFeedback(int secret, int secretMask, int guess) {
+        int pattern = 0;
+        int weight = 1;
+        for (int i = 0; i < PackedDictionary.WORD_LENGTH; i++) {
+            int shift = PackedDictionary.LETTER_BITS * i;
+            int letter = (guess >>> shift) & PackedDictionary.LETTER_MASK;
+            if (letter == ((secret >>> shift) & PackedDictionary.LETTER_MASK)) {
+                pattern += 2 * weight;
+            } else if (((secretMask >>> letter) & 1) != 0) {
+                pattern += weight;
+            }
+            weight *= 3;
+        }
+        return pattern;
+    }
+
+    // Compute the packed feedback pattern of guess against every secret into
+    // patternsOut (patternsOut[i] for secrets[i]), in one batched pass. The
+    // batch layout of secrets is kept per thread and reused as long as the
+    // calls pass the same array holding the same strings.
+    // Letters compare exactly as in computeFeedback(String, String, char[]):
+    // packed words have no case, so unless every word is 5 uppercase letters
+    // the patterns are computed one secret at a time instead.
+    public static void computeFeedback(String guess, String[] secrets, int[] patternsOut) {
+        FeedbackBatch batch = BATCHES.get().of(secrets);
+        if (batch != null && isUpperCaseWord(guess)) {
+            batch.patterns(PackedDictionary.pack(guess), patternsOut);
+            return;
+        }
+        char[] row = new char[PackedDictionary.WORD_LENGTH];
+        for (int i = 0; i < secrets.length; i++) {
+            computeFeedback(secrets[i], guess, row);
+            patternsOut[i] = CandidateIndex.pattern(row);
+        }
+    }
+
+    // Same as above with secrets already laid out as a batch. Packed words have
+    // no case: here "range" and "RANGE" are the same word.
+    public static void computeFeedback(String guess, FeedbackBatch secrets, int[] patternsOut) {
+        secrets.patterns(PackedDictionary.pack(guess), patternsOut);
+    }
+
+    private static final ThreadLocal<BatchCache> BATCHES = ThreadLocal.withInitial(BatchCache::new);
+
+    // Returns true if word is 5 letters A-Z, the words whose packed feedback
+    // matches the case-sensitive one.
+    private static boolean isUpperCaseWord(String word) {
+        if (word.length() != PackedDictionary.WORD_LENGTH) return false;
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c < 'A' || c > 'Z') return false;
+        }
+        return true;
+    }
+
+    // The batch of the last secrets array a thread used, with a copy of its
+    // elements to notice when a caller has changed the array since. The batch
+    // is null when some secret is not an uppercase word.
+    private static final class BatchCache {
+        private String[] secrets;
+        private String[] elements;
+        private FeedbackBatch batch;
+
+        FeedbackBatch of(String[] secrets) {
+            if (secrets != this.secrets || !sameElements(secrets)) {
+                int[] packed = new int[secrets.length];
+                boolean upperCase = true;
+                for (int i = 0; i < secrets.length && upperCase; i++) {
+                    upperCase = isUpperCaseWord(secrets[i]);
+                    if (upperCase) packed[i] = PackedDictionary.pack(secrets[i]);
+                }
+                this.batch = upperCase ? new FeedbackBatch(packed) : null;
+                this.secrets = secrets;
+                this.elements = secrets.clone();
+            }
+            return batch;
+        }
+
+        private boolean sameElements(String[] secrets) {
+            if (secrets.length != elements.length) return false;
+            for (int i = 0; i < secrets.length; i++) {
+                if (secrets[i] != elements[i]) return false;
+            }
+            return true;
+        }
+    }
+
+    // Duplicate-aware feedback for packed words, given the letter counts of the
+    // secret (PackedDictionary.letterCounts, halves 0 and 1). The counts are
+    // used up in local variables: first by the G positions, then left to right
+    // by the Y ones.
+    public static int computeFeedbackStrict(int secret, long countsLow, long countsHigh, int guess) {
+        int pattern = 0;
+        int weight = 1;
+        for (int i = 0; i < PackedDictionary.WORD_LENGTH; i++) {
+            int letter = PackedDictionary.letterAt(guess, i);
+            if (letter == PackedDictionary.letterAt(secret, i)) {
+                pattern += 2 * weight;
+                if (letter < 16) countsLow -= 1L << (4 * letter);
+                else             countsHigh -= 1L << (4 * (letter - 16));
+            }
+            weight *= 3;
+        }
+        weight = 1;
+        for (int i = 0; i < PackedDictionary.WORD_LENGTH; i++) {
+            int letter = PackedDictionary.letterAt(guess, i);
+            if (letter != PackedDictionary.letterAt(secret, i)) {
+                if (letter < 16) {
+                    if (((countsLow >>> (4 * letter)) & 15) != 0) {
+                        pattern += weight;
+                        countsLow -= 1L << (4 * letter);
+                    }
+                } else if (((countsHigh >>> (4 * (letter - 16))) & 15) != 0) {
+                    pattern += weight;
+                    countsHigh -= 1L << (4 * (letter - 16));
+                }
+            }
+            weight *= 3;
+        }
+        return pattern;
+    }
+
+    // Writes a base-3 pattern into resultRow as G / Y / _ characters.
+    public static void patternToRow(int pattern, char[] resultRow) {
+        for (int i = 0; i < resultRow.length; i++) {
+            int digit = pattern % 3;
+            resultRow[i] = digit == 2 ? 'G' : (digit == 1 ? 'Y' : '_');
+            pattern /= 3;
+        }
+    }
+
     // Store guess string (chars) into the given row of guesses 2D array.
     // For example, of guess is HELLO, and row is 2, then after this function
     // guesses should look like:
@@ -72,21 +265,16 @@ public class Wordle {
         }
     }
 
+    // One board renderer per thread: it keeps its buffers between calls.
+    private static final ThreadLocal<BoardRenderer> RENDERER = ThreadLocal.withInitial(BoardRenderer::new);
+
     // Prints the game board up to currentRow (inclusive).
+    // The whole board is rendered into a reusable buffer and printed with a
+    // single write (see BoardRenderer); the text is the same as printing
+    // "Current board:", then "Guess n: " + guess + "   Result: " + result for
+    // every row, then an empty line.
     public static void printBoard(char[][] guesses, char[][] results, int currentRow) {
-        System.out.println("Current board:");
-        for (int row = 0; row <= currentRow; row++) {
-            System.out.print("Guess " + (row + 1) + ": ");
-            for (int col = 0; col < guesses[row].length; col++) {
-                System.out.print(guesses[row][col]);
-            }
-            System.out.print("   Result: ");
-            for (int col = 0; col < results[row].length; col++) {
-                System.out.print(results[row][col]);
-            }
-            System.out.println();
-        }
-        System.out.println();
+        RENDERER.get().print(guesses, results, currentRow, System.out);
     }
 
     // Returns true if all entries in resultRow are 'G'.
@@ -100,6 +288,11 @@ public class Wordle {
         return true;
     }
 
+    // Returns true if a base-3 pattern means all G.
+    public static boolean isAllGreen(int pattern) {
+        return pattern == ALL_GREEN;
+    }
+
     public static void main(String[] args) {
 
         int WORD_LENGTH = 5;
@@ -0,0 +1,498 @@
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Micro-benchmarks for the hot paths of Wordle and In.
+ * <p>
+ * Every benchmark is warmed up, then measured for a number of fixed-length
+ * iterations. For each one we report the throughput (operations per second,
+ * with the spread between iterations) and the bytes allocated per operation,
+ * measured on the benchmark thread like the JMH gc profiler does.
+ * <p>
+ * HintService latency is reported separately, as percentiles of single hints
+ * rather than a throughput: a hint's deadline makes its cost per call the
+ * thing to watch. Wall time includes whatever the machine adds (GC, other
+ * processes, a hypervisor); thread CPU time is the service's own share.
+ * <p>
+ * Usage: java WordleBench [name filter ...]
+ * <br>System properties: bench.warmup (iterations, default 3), bench.iterations
+ * (default 5), bench.time (milliseconds per iteration, default 500) and
+ * bench.words (size of the synthetic dictionary, default 1000000) and
+ * bench.hints (hints timed for the latency report, default 2000).
+ * Add -DIn.backend=fast to measure In with its Scanner-free tokenizer.
+ */
+public final class WordleBench {
+
+    // One benchmark: run performs the operation reps times and returns
+    // something derived from the results so the JIT cannot drop the work.
+    private interface Body {
+        long run(int reps);
+    }
+
+    private static final class Benchmark {
+        final String name;
+        final Body body;
+
+        Benchmark(String name, Body body) {
+            this.name = name;
+            this.body = body;
+        }
+    }
+
+    // results of every benchmark end up here
+    static volatile long sink;
+
+    private static final int WARMUP = Integer.getInteger("bench.warmup", 3);
+    private static final int ITERATIONS = Integer.getInteger("bench.iterations", 5);
+    private static final long ITERATION_NANOS = Long.getLong("bench.time", 500) * 1_000_000L;
+    private static final int SYNTHETIC_WORDS = Integer.getInteger("bench.words", 1_000_000);
+
+    private static final String HINT_LATENCY = "HintService.hint(13k latency)";
+    private static final int HINT_SAMPLES = Integer.getInteger("bench.hints", 2000);
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) throws IOException {
+        String[] dict = Wordle.readDictionary("dictionary.txt");
+        PackedDictionary packed = PackedDictionary.load("dictionary.txt");
+        File synthetic = syntheticDictionary(SYNTHETIC_WORDS);
+        File numbers = syntheticNumbers(SYNTHETIC_WORDS);
+
+        ArrayList<Benchmark> benchmarks = new ArrayList<Benchmark>();
+        addWordleBenchmarks(benchmarks, dict, packed);
+        addInBenchmarks(benchmarks, synthetic, numbers);
+
+        System.out.println(String.format(Locale.US, "%-40s %5s %16s %12s %14s",
+                                         "Benchmark", "Cnt", "Score (ops/s)", "Error", "Alloc (B/op)"));
+        for (Benchmark benchmark : benchmarks) {
+            if (matches(benchmark.name, args)) measure(benchmark);
+        }
+        if (matches(HINT_LATENCY, args)) hintLatency();
+        synthetic.delete();
+        numbers.delete();
+    }
+
+    private static void addWordleBenchmarks(ArrayList<Benchmark> benchmarks, String[] dict, PackedDictionary packed) {
+        int n = dict.length;
+        char[] row = new char[5];
+        char[][] board = new char[6][5];
+        char[] green = {'G', 'G', 'G', 'G', 'G'};
+        char[] mixed = {'G', 'G', 'Y', 'G', 'G'};
+
+        benchmarks.add(new Benchmark("Wordle.computeFeedback", reps -> {
+            long sum = 0;
+            for (int i = 0; i < reps; i++) {
+                Wordle.computeFeedback(dict[i % n], dict[(i * 7 + 3) % n], row);
+                sum += row[i % 5];
+            }
+            return sum;
+        }));
+        benchmarks.add(new Benchmark("Wordle.computeFeedback(packed)", reps -> {
+            long sum = 0;
+            int size = packed.size();
+            for (int i = 0; i < reps; i++) {
+                sum += packed.feedback(i % size, packed.word((i * 7 + 3) % size));
+            }
+            return sum;
+        }));
+        benchmarks.add(new Benchmark("Wordle.computeFeedbackStrict(packed)", reps -> {
+            long sum = 0;
+            int size = packed.size();
+            for (int i = 0; i < reps; i++) {
+                sum += packed.feedbackStrict(i % size, packed.word((i * 7 + 3) % size));
+            }
+            return sum;
+        }));
+        // one op = the patterns of one guess against every secret
+        int[] large = new int[13_000];
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < large.length; i++) large[i] = randomWord(random);
+        int[] out = new int[large.length];
+        FeedbackBatch small = new FeedbackBatch(packed);
+        FeedbackBatch batch = new FeedbackBatch(large);
+        benchmarks.add(new Benchmark("FeedbackBatch.patterns", reps -> {
+            for (int i = 0; i < reps; i++) small.patterns(packed.word(i % packed.size()), out);
+            return out[0];
+        }));
+        benchmarks.add(new Benchmark("FeedbackBatch.patternsScalar", reps -> {
+            for (int i = 0; i < reps; i++) small.patternsScalar(packed.word(i % packed.size()), out);
+            return out[0];
+        }));
+        benchmarks.add(new Benchmark("FeedbackBatch.patterns(13k)", reps -> {
+            for (int i = 0; i < reps; i++) batch.patterns(large[i % large.length], out);
+            return out[0];
+        }));
+        benchmarks.add(new Benchmark("FeedbackBatch.patternsScalar(13k)", reps -> {
+            for (int i = 0; i < reps; i++) batch.patternsScalar(large[i % large.length], out);
+            return out[0];
+        }));
+        WordValidator validator = new WordValidator(packed);
+        benchmarks.add(new Benchmark("WordValidator.isValidWord", reps -> {
+            long sum = 0;
+            for (int i = 0; i < reps; i++) {
+                if (validator.isValidWord(dict[i % n])) sum++;
+            }
+            return sum;
+        }));
+        // one op = filtering every secret by one guess and pattern
+        FeedbackMatrix heapMatrix = FeedbackMatrix.build(packed);
+        OffHeapFeedbackMatrix offHeapMatrix = OffHeapFeedbackMatrix.build(packed, packed);
+        int[] candidates = new int[packed.size()];
+        benchmarks.add(new Benchmark("FeedbackMatrix.filter", reps -> filterAll(heapMatrix, candidates, reps)));
+        benchmarks.add(new Benchmark("OffHeapFeedbackMatrix.filter", reps -> filterAll(offHeapMatrix, candidates, reps)));
+        LazyFeedbackTable lazyTable = new LazyFeedbackTable(packed, packed, packed.size() / 4);
+        benchmarks.add(new Benchmark("LazyFeedbackTable.filter(1/4 rows)", reps -> filterAll(lazyTable, candidates, reps)));
+        CandidateIndex index = new CandidateIndex(packed);
+        long[] set = index.all();
+        benchmarks.add(new Benchmark("CandidateIndex.apply+cardinality", reps -> {
+            long sum = 0;
+            int size = packed.size();
+            for (int i = 0; i < reps; i++) {
+                int guess = packed.word((i * 7 + 3) % size);
+                index.fill(set);
+                index.apply(set, guess, packed.feedback(i % size, guess), false);
+                sum += CandidateIndex.cardinality(set);
+            }
+            return sum;
+        }));
+        // one op = the first turn of a hard game (every word still a candidate)
+        PackedDictionary largeDict = new PackedDictionary(large);
+        AdversarialGame hardGame = new AdversarialGame(largeDict);
+        benchmarks.add(new Benchmark("AdversarialGame.submitGuess(13k)", reps -> {
+            long sum = 0;
+            for (int i = 0; i < reps; i++) {
+                hardGame.startGame();
+                sum += hardGame.submitGuess(PackedDictionary.unpack(large[i % large.length]))[0];
+            }
+            return sum;
+        }));
+        AdversarialGame tabledGame = new AdversarialGame(packed, index, heapMatrix);
+        benchmarks.add(new Benchmark("AdversarialGame.submitGuess(matrix)", reps -> {
+            long sum = 0;
+            for (int i = 0; i < reps; i++) {
+                tabledGame.startGame();
+                sum += tabledGame.submitGuess(dict[i % n])[0];
+            }
+            return sum;
+        }));
+        benchmarks.add(new Benchmark("Wordle.containsChar", reps -> {
+            long sum = 0;
+            for (int i = 0; i < reps; i++) {
+                if (Wordle.containsChar(dict[i % n], (char) ('A' + i % 26))) sum++;
+            }
+            return sum;
+        }));
+        benchmarks.add(new Benchmark("Wordle.chooseSecretWord", reps -> {
+            long sum = 0;
+            for (int i = 0; i < reps; i++) sum += Wordle.chooseSecretWord(dict).length();
+            return sum;
+        }));
+        SecretSelector selector = new SecretSelector(dict, 42);
+        benchmarks.add(new Benchmark("SecretSelector.next", reps -> {
+            long sum = 0;
+            for (int i = 0; i < reps; i++) sum += selector.next().length();
+            return sum;
+        }));
+        benchmarks.add(new Benchmark("SecretSelector.nextFromDeck", reps -> {
+            long sum = 0;
+            for (int i = 0; i < reps; i++) sum += selector.nextFromDeck().length();
+            return sum;
+        }));
+        benchmarks.add(new Benchmark("Wordle.isAllGreen", reps -> {
+            long sum = 0;
+            for (int i = 0; i < reps; i++) {
+                if (Wordle.isAllGreen((i & 1) == 0 ? green : mixed)) sum++;
+            }
+            return sum;
+        }));
+        benchmarks.add(new Benchmark("Wordle.storeGuess", reps -> {
+            for (int i = 0; i < reps; i++) {
+                Wordle.storeGuess(dict[i % n], board, i % 6);
+            }
+            return board[0][0];
+        }));
+        char[][] results = new char[6][5];
+        for (int r = 0; r < 6; r++) {
+            Wordle.storeGuess(dict[r], board, r);
+            Wordle.computeFeedback(dict[n - 1], dict[r], results[r]);
+        }
+        PrintStream discard = new PrintStream(OutputStream.nullOutputStream(), true);
+        BoardRenderer renderer = new BoardRenderer();
+        benchmarks.add(new Benchmark("BoardRenderer.print", reps -> {
+            for (int i = 0; i < reps; i++) {
+                renderer.print(board, results, 5, discard);
+            }
+            return reps;
+        }));
+        benchmarks.add(new Benchmark("Wordle.printBoard(System.out)", reps -> {
+            PrintStream stdout = System.out;
+            System.setOut(discard);
+            try {
+                for (int i = 0; i < reps; i++) {
+                    Wordle.printBoard(board, results, 5);
+                }
+            } finally {
+                System.setOut(stdout);
+            }
+            return reps;
+        }));
+        benchmarks.add(new Benchmark("Wordle.readDictionary(small)", reps -> {
+            long sum = 0;
+            for (int i = 0; i < reps; i++) {
+                sum += Wordle.readDictionary("dictionary.txt").length;
+            }
+            return sum;
+        }));
+    }
+
+    private static void addInBenchmarks(ArrayList<Benchmark> benchmarks, File synthetic, File numbers) throws IOException {
+        String name = synthetic.getPath();
+        // a compiled copy under another name, so the text benchmarks still read text
+        File copy = File.createTempFile("bench-compiled", ".txt");
+        copy.deleteOnExit();
+        Files.copy(synthetic.toPath(), copy.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        DictionaryCompiler.compile(copy.getPath()).toFile().deleteOnExit();
+        benchmarks.add(new Benchmark("Wordle.readDictionary(synthetic)", reps -> {
+            long sum = 0;
+            for (int i = 0; i < reps; i++) {
+                sum += Wordle.readDictionary(name).length;
+            }
+            return sum;
+        }));
+        benchmarks.add(new Benchmark("Wordle.readDictionary(compiled)", reps -> {
+            long sum = 0;
+            for (int i = 0; i < reps; i++) {
+                sum += Wordle.readDictionary(copy.getPath()).length;
+            }
+            return sum;
+        }));
+        benchmarks.add(new Benchmark("PackedDictionary.load(compiled)", reps -> {
+            long sum = 0;
+            for (int i = 0; i < reps; i++) {
+                sum += PackedDictionary.load(copy.getPath()).size();
+            }
+            return sum;
+        }));
+        benchmarks.add(new Benchmark("In.readAll+split(synthetic)", reps -> {
+            long sum = 0;
+            for (int i = 0; i < reps; i++) {
+                In in = new In(synthetic);
+                sum += in.readAll().split("\\s+").length;
+                in.close();
+            }
+            return sum;
+        }));
+        benchmarks.add(new Benchmark("DictionaryReader.readPacked(synthetic)", reps -> {
+            long sum = 0;
+            for (int i = 0; i < reps; i++) {
+                sum += DictionaryReader.readPacked(name).size();
+            }
+            return sum;
+        }));
+        benchmarks.add(new Benchmark("In.readAll(synthetic)", reps -> {
+            long sum = 0;
+            for (int i = 0; i < reps; i++) {
+                In in = new In(synthetic);
+                sum += in.readAll().length();
+                in.close();
+            }
+            return sum;
+        }));
+        benchmarks.add(new Benchmark("In.readAllStrings(synthetic)", reps -> {
+            long sum = 0;
+            for (int i = 0; i < reps; i++) {
+                In in = new In(synthetic);
+                sum += in.readAllStrings().length;
+                in.close();
+            }
+            return sum;
+        }));
+        benchmarks.add(new Benchmark("In.readString(synthetic)", reps -> {
+            long sum = 0;
+            for (int i = 0; i < reps; i++) {
+                In in = new In(synthetic);
+                for (int w = 0; w < SYNTHETIC_WORDS; w++) sum += in.readString().charAt(0);
+                in.close();
+            }
+            return sum;
+        }));
+        benchmarks.add(new Benchmark("In.readInt(synthetic)", reps -> {
+            long sum = 0;
+            for (int i = 0; i < reps; i++) {
+                In in = new In(numbers);
+                for (int w = 0; w < SYNTHETIC_WORDS; w++) sum += in.readInt();
+                in.close();
+            }
+            return sum;
+        }));
+        benchmarks.add(new Benchmark("In.readAllLines(synthetic)", reps -> {
+            long sum = 0;
+            for (int i = 0; i < reps; i++) {
+                In in = new In(synthetic);
+                sum += in.readAllLines().length;
+                in.close();
+            }
+            return sum;
+        }));
+    }
+
+    // Warms the benchmark up, then prints its score.
+    private static void measure(Benchmark benchmark) {
+        // grow the batch until one call takes a measurable amount of time
+        int reps = 1;
+        while (true) {
+            long start = System.nanoTime();
+            sink = benchmark.body.run(reps);
+            if (System.nanoTime() - start > ITERATION_NANOS / 50 || reps >= 1 << 30) break;
+            reps *= 2;
+        }
+        for (int i = 0; i < WARMUP; i++) {
+            iteration(benchmark, reps, null);
+        }
+
+        double[] scores = new double[ITERATIONS];
+        long[] allocated = new long[2];
+        for (int i = 0; i < ITERATIONS; i++) {
+            scores[i] = iteration(benchmark, reps, allocated);
+        }
+
+        double mean = 0;
+        for (double score : scores) mean += score;
+        mean /= ITERATIONS;
+        double variance = 0;
+        for (double score : scores) variance += (score - mean) * (score - mean);
+        double error = ITERATIONS > 1 ? Math.sqrt(variance / (ITERATIONS - 1)) : 0;
+        double bytesPerOp = allocated[1] == 0 ? 0 : (double) allocated[0] / allocated[1];
+
+        System.out.println(String.format(Locale.US, "%-40s %5d %16.1f %12.1f %14.1f",
+                                         benchmark.name, ITERATIONS, mean, error, bytesPerOp));
+    }
+
+    // Runs batches for one iteration and returns the throughput in ops/s.
+    // If allocated is not null, adds the bytes allocated and ops run to it.
+    private static double iteration(Benchmark benchmark, int reps, long[] allocated) {
+        long thread = Thread.currentThread().getId();
+        long bytesBefore = THREADS.getThreadAllocatedBytes(thread);
+        long ops = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            sink = benchmark.body.run(reps);
+            ops += reps;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < ITERATION_NANOS);
+        if (allocated != null) {
+            allocated[0] += THREADS.getThreadAllocatedBytes(thread) - bytesBefore;
+            allocated[1] += ops;
+        }
+        return ops * 1e9 / elapsed;
+    }
+
+    // Times single hints on 13k random words with the server's table size and
+    // default budget, on boards of 0 to 2 random rows, and prints the wall and
+    // CPU time percentiles.
+    private static void hintLatency() {
+        SplittableRandom random = new SplittableRandom(1);
+        int[] words = new int[13_000];
+        for (int i = 0; i < words.length; i++) words[i] = randomWord(random);
+        PackedDictionary dict = new PackedDictionary(words);
+        HintService hints = new HintService(dict, new LazyFeedbackTable(dict, dict, 4096), DictionaryManager.HINT_BUDGET_MICROS);
+        char[][] guesses = new char[6][5];
+        char[][] results = new char[6][5];
+        for (int i = 0; i < HINT_SAMPLES / 4; i++) hints.hint(guesses, results, 0);
+
+        long[] wall = new long[HINT_SAMPLES];
+        long[] cpu = new long[HINT_SAMPLES];
+        for (int i = 0; i < HINT_SAMPLES; i++) {
+            int secret = random.nextInt(words.length);
+            int rows = random.nextInt(3);
+            for (int r = 0; r < rows; r++) {
+                int guess = words[random.nextInt(words.length)];
+                Wordle.storeGuess(PackedDictionary.unpack(guess), guesses, r);
+                Wordle.patternToRow(dict.feedback(secret, guess), results[r]);
+            }
+            long cpuStart = THREADS.getCurrentThreadCpuTime();
+            long start = System.nanoTime();
+            sink = hints.hint(guesses, results, rows).candidates();
+            wall[i] = System.nanoTime() - start;
+            cpu[i] = THREADS.getCurrentThreadCpuTime() - cpuStart;
+        }
+        Arrays.sort(wall);
+        Arrays.sort(cpu);
+        System.out.println();
+        System.out.println(String.format(Locale.US, "%-40s %5s %10s %10s %10s", HINT_LATENCY, "Cnt", "p50 (us)", "p99 (us)", "max (us)"));
+        System.out.println(String.format(Locale.US, "%-40s %5d %10d %10d %10d", "  wall, " + DictionaryManager.HINT_BUDGET_MICROS + " us budget",
+                                         HINT_SAMPLES, wall[HINT_SAMPLES / 2] / 1000, wall[HINT_SAMPLES * 99 / 100] / 1000, wall[HINT_SAMPLES - 1] / 1000));
+        System.out.println(String.format(Locale.US, "%-40s %5d %10d %10d %10d", "  thread CPU",
+                                         HINT_SAMPLES, cpu[HINT_SAMPLES / 2] / 1000, cpu[HINT_SAMPLES * 99 / 100] / 1000, cpu[HINT_SAMPLES - 1] / 1000));
+    }
+
+    private static boolean matches(String name, String[] filters) {
+        if (filters.length == 0) return true;
+        for (String filter : filters) {
+            if (name.contains(filter)) return true;
+        }
+        return false;
+    }
+
+    private static long filterAll(PatternTable matrix, int[] candidates, int reps) {
+        long sum = 0;
+        int size = matrix.secretCount();
+        for (int i = 0; i < reps; i++) {
+            for (int s = 0; s < size; s++) candidates[s] = s;
+            int guess = (i * 7 + 3) % matrix.guessCount();
+            sum += matrix.filter(guess, matrix.pattern(guess, i % size), candidates, size);
+        }
+        return sum;
+    }
+
+    // A random packed 5-letter word.
+    private static int randomWord(SplittableRandom random) {
+        int packed = 0;
+        for (int j = 0; j < PackedDictionary.WORD_LENGTH; j++) {
+            packed |= random.nextInt(26) << (PackedDictionary.LETTER_BITS * j);
+        }
+        return packed;
+    }
+
+    // Writes a dictionary of random 5-letter words, one per line.
+    private static File syntheticDictionary(int words) throws IOException {
+        File file = File.createTempFile("bench-dictionary", ".txt");
+        file.deleteOnExit();
+        SplittableRandom random = new SplittableRandom(42);
+        char[] word = new char[6];
+        word[5] = '\n';
+        try (FileWriter writer = new FileWriter(file)) {
+            for (int i = 0; i < words; i++) {
+                for (int j = 0; j < 5; j++) word[j] = (char) ('A' + random.nextInt(26));
+                writer.write(word);
+            }
+        }
+        return file;
+    }
+
+    // Writes random ints, one per line.
+    private static File syntheticNumbers(int count) throws IOException {
+        File file = File.createTempFile("bench-numbers", ".txt");
+        file.deleteOnExit();
+        SplittableRandom random = new SplittableRandom(42);
+        try (FileWriter writer = new FileWriter(file)) {
+            for (int i = 0; i < count; i++) {
+                writer.write(Integer.toString(random.nextInt(-1_000_000, 1_000_000)));
+                writer.write('\n');
+            }
+        }
+        return file;
+    }
+}